@@ -0,0 +1,29 @@
+package com.springboot.romannumeral.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+* BenchmarkRunner runs the JMH benchmarks of RomanNumeralApplication with the
+* GC profiler enabled, so every benchmark reports its allocation rate
+* (gc.alloc.rate.norm is the number of bytes allocated per operation) along
+* with its throughput.
+* Arguments are regular JMH command line options.
+* @author  Yan Zhou
+* @version 1.0
+* @since   2021-02-15
+*/
+public class BenchmarkRunner {
+
+	public static void main(String[] args) throws Exception {
+
+		Options options = new OptionsBuilder()
+				.parent(new CommandLineOptions(args))
+				.addProfiler(GCProfiler.class)
+				.build();
+		new Runner(options).run();
+	}
+}
@@ -0,0 +1,84 @@
+package com.springboot.romannumeral.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.springboot.romannumeral.controller.EncodedResponseWriter;
+import com.springboot.romannumeral.controller.RomanNumeralController;
+import com.springboot.romannumeral.exception.GlobalExceptionHandler;
+import com.springboot.romannumeral.service.RomanNumeralService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+* RequestBenchmark measures an in-process round trip of GET /romannumeral
+* through MockMvc: request mapping, RomanNumeralController,
+* RomanNumeralService, GlobalExceptionHandler and Jackson serialization,
+* without the network stack.
+* @author  Yan Zhou
+* @version 1.0
+* @since   2021-02-15
+*/
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RequestBenchmark {
+
+	@Param({ "1994", "", "ab123", "4000" })
+	public String query;
+
+	@Param({ "true", "false" })
+	public boolean encoded;
+
+	private MockMvc mockMvc;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+				.featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+				.build();
+		RomanNumeralService romanNumeralService = new RomanNumeralService(new SimpleMeterRegistry());
+		RomanNumeralController controller = new RomanNumeralController();
+		ReflectionTestUtils.setField(controller, "romanNumeralService", romanNumeralService);
+		if (encoded) {
+			ReflectionTestUtils.setField(controller, "encodedResponseWriter", new EncodedResponseWriter(romanNumeralService, objectMapper));
+		}
+		GlobalExceptionHandler exceptionHandler = new GlobalExceptionHandler();
+		ReflectionTestUtils.setField(exceptionHandler, "romanNumeralMetrics", romanNumeralService.getMetrics());
+		mockMvc = MockMvcBuilders.standaloneSetup(controller)
+				.setControllerAdvice(exceptionHandler)
+				.setMessageConverters(new MappingJackson2HttpMessageConverter(objectMapper))
+				.build();
+	}
+
+	@Benchmark
+	public MockHttpServletResponse romannumeral() throws Exception {
+		return mockMvc.perform(MockMvcRequestBuilders.get("/romannumeral").param("query", query))
+				.andReturn()
+				.getResponse();
+	}
+}
@@ -0,0 +1,66 @@
+package com.springboot.romannumeral.benchmark;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.springboot.romannumeral.exception.ErrorDetails;
+import com.springboot.romannumeral.model.RomanNumeral;
+
+/**
+* SerializationBenchmark measures the Jackson serialization of the response
+* payloads RomanNumeral and ErrorDetails, with an ObjectMapper configured
+* like the one of Spring Boot.
+* @author  Yan Zhou
+* @version 1.0
+* @since   2021-02-15
+*/
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+	private ObjectMapper objectMapper;
+
+	private RomanNumeral romanNumeral;
+
+	private ErrorDetails errorDetails;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		objectMapper = Jackson2ObjectMapperBuilder.json()
+				.featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+				.build();
+		romanNumeral = new RomanNumeral("1994", "MCMXCIV");
+		errorDetails = new ErrorDetails(new Date(), 2,
+				"Input query value does not have correct integer format. Please give an integer value between 1 and 3999. Example: /romannumeral?query=123",
+				"uri=/romannumeral");
+	}
+
+	@Benchmark
+	public byte[] romanNumeral() throws Exception {
+		return objectMapper.writeValueAsBytes(romanNumeral);
+	}
+
+	@Benchmark
+	public byte[] errorDetails() throws Exception {
+		return objectMapper.writeValueAsBytes(errorDetails);
+	}
+}
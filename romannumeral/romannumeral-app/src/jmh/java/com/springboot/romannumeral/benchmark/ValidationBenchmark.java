@@ -0,0 +1,61 @@
+package com.springboot.romannumeral.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.springboot.romannumeral.core.QueryValidator;
+import com.springboot.romannumeral.core.ValidationResult;
+import com.springboot.romannumeral.service.RomanNumeralService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+* ValidationBenchmark measures the validation steps of
+* RomanNumeralService.getRomanNumeral for a valid query and for each
+* invalid case: empty, white spaces, invalid format, integer overflow and
+* out of range. getRomanNumeral measures the whole service call including
+* the metrics and building the response.
+* @author  Yan Zhou
+* @version 1.0
+* @since   2021-02-15
+*/
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidationBenchmark {
+
+	@Param({ "1994", "", "   ", "2.5", "ab123", "99999999999", "4000", "-10" })
+	public String query;
+
+	private RomanNumeralService romanNumeralService;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		romanNumeralService = new RomanNumeralService(new SimpleMeterRegistry());
+	}
+
+	@Benchmark
+	public ValidationResult validate() {
+		return QueryValidator.validate(query, 1, 3999);
+	}
+
+	@Benchmark
+	public Object getRomanNumeral() {
+		return romanNumeralService.getRomanNumeral(query);
+	}
+}
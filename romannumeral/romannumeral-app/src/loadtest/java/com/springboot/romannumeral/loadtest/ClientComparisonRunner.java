@@ -0,0 +1,149 @@
+package com.springboot.romannumeral.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.springboot.romannumeral.RomanNumeralApplication;
+import com.springboot.romannumeral.client.ConversionResult;
+import com.springboot.romannumeral.client.RomanNumeralClient;
+import com.springboot.romannumeral.core.RomanNumeralConverter;
+
+/**
+* ClientComparisonRunner starts RomanNumeralApplication on a random local port
+* and converts 1 to 3999 a few times in two ways: the way most callers do, with
+* one new connection per call on NAIVE_THREADS threads, and with all the calls
+* in flight at once on a RomanNumeralClient whose cache is disabled. It prints
+* the throughput of both and their ratio for every round.
+* Arguments: --rounds=N, default 3; the other arguments are passed on to the
+* application. The concurrency limit is turned off, so no per-call request is
+* shed, and the application loggers are limited to warnings.
+* @author  Yan Zhou
+* @version 1.0
+* @since   2021-02-15
+*/
+public class ClientComparisonRunner {
+
+	private static final String HOST = "127.0.0.1";
+
+	// Threads of the naive callers, each call opens its own connection.
+	private static final int NAIVE_THREADS = 16;
+
+	// Calls of the warm-up of both paths, before the first round.
+	private static final int WARMUP_CALLS = 500;
+
+	public static void main(String[] args) throws Exception {
+
+		int rounds = 3;
+		List<String> applicationArgs = new ArrayList<>();
+		for (String arg : args) {
+			if (arg.startsWith("--rounds=")) {
+				rounds = Integer.parseInt(arg.substring("--rounds=".length()));
+			} else {
+				applicationArgs.add(arg);
+			}
+		}
+		applicationArgs.add("--logging.level.com.springboot.romannumeral=warn");
+		applicationArgs.add("--romannumeral.limit.enabled=false");
+		applicationArgs.add("--server.port=0");
+
+		try (ConfigurableApplicationContext context = SpringApplication.run(RomanNumeralApplication.class,
+				applicationArgs.toArray(new String[0]))) {
+			int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+			run(port, rounds);
+		}
+		System.exit(0);
+	}
+
+	private static void run(int port, int rounds) throws Exception {
+
+		int calls = RomanNumeralConverter.MAX_VALUE;
+		naiveConversions(port, WARMUP_CALLS);
+		try (RomanNumeralClient client = RomanNumeralClient.builder(HOST, port).cacheSize(0).build()) {
+			clientConversions(client, WARMUP_CALLS);
+		}
+
+		System.out.printf("Converting 1 to %d on port %d: per-call requests on %d threads, then RomanNumeralClient%n",
+				calls, port, NAIVE_THREADS);
+		for (int round = 1; round <= rounds; round++) {
+			long start = System.nanoTime();
+			naiveConversions(port, calls);
+			long naiveNanos = System.nanoTime() - start;
+
+			long clientNanos;
+			long requests;
+			try (RomanNumeralClient client = RomanNumeralClient.builder(HOST, port).cacheSize(0).build()) {
+				start = System.nanoTime();
+				clientConversions(client, calls);
+				clientNanos = System.nanoTime() - start;
+				requests = client.getRequestCount();
+			}
+
+			double naiveRate = calls / (naiveNanos / 1e9);
+			double clientRate = calls / (clientNanos / 1e9);
+			System.out.printf("Round %d: per-call requests %.0f conversions/s, RomanNumeralClient %.0f conversions/s"
+					+ " in %d requests (x%.1f)%n", round, naiveRate, clientRate, requests, clientRate / naiveRate);
+		}
+	}
+
+	// Converts 1 to calls with all the calls in flight at once.
+	private static void clientConversions(RomanNumeralClient client, int calls) throws Exception {
+
+		List<CompletableFuture<ConversionResult>> results = new ArrayList<>(calls);
+		for (int n = 1; n <= calls; n++) {
+			results.add(client.toRoman(n));
+		}
+		for (CompletableFuture<ConversionResult> result : results) {
+			if (!result.get(30, TimeUnit.SECONDS).isConverted()) {
+				throw new IllegalStateException("Conversion failed: " + result.get());
+			}
+		}
+	}
+
+	// Converts 1 to calls with one new connection per call, on NAIVE_THREADS threads.
+	private static void naiveConversions(int port, int calls) throws Exception {
+
+		ExecutorService executor = Executors.newFixedThreadPool(NAIVE_THREADS);
+		try {
+			List<Future<Integer>> statuses = new ArrayList<>(calls);
+			for (int n = 1; n <= calls; n++) {
+				String url = "http://" + HOST + ":" + port + "/romannumeral?query=" + n;
+				statuses.add(executor.submit(() -> naiveRequest(url)));
+			}
+			for (Future<Integer> status : statuses) {
+				if (status.get(30, TimeUnit.SECONDS) != 200) {
+					throw new IllegalStateException("Unexpected status " + status.get());
+				}
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private static int naiveRequest(String url) throws IOException {
+
+		HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+		connection.setRequestProperty("Connection", "close");
+		int status = connection.getResponseCode();
+		try (InputStream body = connection.getInputStream()) {
+			byte[] buffer = new byte[1024];
+			while (body.read(buffer) >= 0) {
+				// Drain the body.
+			}
+		}
+		connection.disconnect();
+		return status;
+	}
+}
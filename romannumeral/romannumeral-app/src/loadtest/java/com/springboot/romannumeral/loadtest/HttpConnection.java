@@ -0,0 +1,185 @@
+package com.springboot.romannumeral.loadtest;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+
+/**
+* HttpConnection is a minimal HTTP/1.1 client over one persistent connection.
+* It sends prebuilt requests and reads the status and the body of the responses,
+* with Content-Length or chunked transfer encoding, using a single reused line
+* buffer. The connection is opened again when the server closes it.
+* @author  Yan Zhou
+* @version 1.0
+* @since   2021-02-15
+*/
+final class HttpConnection implements Closeable {
+
+	private static final int TIMEOUT_MILLIS = 30000;
+
+	private static final byte[] CONTENT_LENGTH = "content-length:".getBytes();
+	private static final byte[] TRANSFER_ENCODING_CHUNKED = "transfer-encoding: chunked".getBytes();
+	private static final byte[] CONNECTION_CLOSE = "connection: close".getBytes();
+
+	private final String host;
+	private final int port;
+	private final byte[] line = new byte[8192];
+	private int lineLength;
+
+	private Socket socket;
+	private InputStream in;
+	private OutputStream out;
+
+	HttpConnection(String host, int port) {
+		this.host = host;
+		this.port = port;
+	}
+
+	/**
+	* exchange sends request and reads its whole response.
+	* @return the HTTP status of the response.
+	*/
+	int exchange(byte[] request) throws IOException {
+
+		if (socket == null) {
+			open();
+		}
+		try {
+			out.write(request);
+			out.flush();
+			return readResponse();
+		} catch (IOException ex) {
+			close();
+			throw ex;
+		}
+	}
+
+	private void open() throws IOException {
+		socket = new Socket();
+		socket.setTcpNoDelay(true);
+		socket.setSoTimeout(TIMEOUT_MILLIS);
+		socket.connect(new InetSocketAddress(host, port), TIMEOUT_MILLIS);
+		in = new BufferedInputStream(socket.getInputStream(), 16384);
+		out = socket.getOutputStream();
+	}
+
+	private int readResponse() throws IOException {
+
+		readLine();
+		// Status line: HTTP/1.1 200 [reason]
+		if (lineLength < 12) {
+			throw new IOException("Malformed status line.");
+		}
+		int status = (line[9] - '0') * 100 + (line[10] - '0') * 10 + (line[11] - '0');
+
+		long contentLength = -1;
+		boolean chunked = false;
+		boolean close = false;
+		while (readLine() > 0) {
+			if (startsWithIgnoreCase(CONTENT_LENGTH)) {
+				contentLength = parseDecimal(CONTENT_LENGTH.length);
+			} else if (startsWithIgnoreCase(TRANSFER_ENCODING_CHUNKED)) {
+				chunked = true;
+			} else if (startsWithIgnoreCase(CONNECTION_CLOSE)) {
+				close = true;
+			}
+		}
+
+		if (chunked) {
+			long chunkSize;
+			while ((chunkSize = parseHex(readLine())) > 0) {
+				skip(chunkSize + 2);
+			}
+			// Trailers up to the empty line.
+			while (readLine() > 0) {
+				// ignored
+			}
+		} else if (contentLength > 0) {
+			skip(contentLength);
+		}
+		if (close) {
+			close();
+		}
+		return status;
+	}
+
+	// Reads one line without its CRLF into line, returns its length.
+	private int readLine() throws IOException {
+		lineLength = 0;
+		int b;
+		while ((b = in.read()) != '\n') {
+			if (b == -1) {
+				throw new EOFException("Connection closed by the server.");
+			}
+			if (b != '\r' && lineLength < line.length) {
+				line[lineLength++] = (byte) b;
+			}
+		}
+		return lineLength;
+	}
+
+	private void skip(long bytes) throws IOException {
+		while (bytes > 0) {
+			long skipped = in.skip(bytes);
+			if (skipped <= 0) {
+				if (in.read() == -1) {
+					throw new EOFException("Connection closed by the server.");
+				}
+				skipped = 1;
+			}
+			bytes -= skipped;
+		}
+	}
+
+	private boolean startsWithIgnoreCase(byte[] prefix) {
+		if (lineLength < prefix.length) {
+			return false;
+		}
+		for (int i = 0; i < prefix.length; i++) {
+			if (Character.toLowerCase(line[i]) != prefix[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private long parseDecimal(int start) {
+		long value = 0;
+		for (int i = start; i < lineLength; i++) {
+			if (line[i] >= '0' && line[i] <= '9') {
+				value = value * 10 + (line[i] - '0');
+			}
+		}
+		return value;
+	}
+
+	private long parseHex(int length) {
+		long value = 0;
+		for (int i = 0; i < length; i++) {
+			int digit = Character.digit(line[i], 16);
+			if (digit < 0) {
+				// Chunk extensions start with ';'.
+				break;
+			}
+			value = value * 16 + digit;
+		}
+		return value;
+	}
+
+	@Override
+	public void close() {
+		if (socket != null) {
+			try {
+				socket.close();
+			} catch (IOException ex) {
+				// nothing to do, the connection is dropped anyway.
+			}
+			socket = null;
+		}
+	}
+}
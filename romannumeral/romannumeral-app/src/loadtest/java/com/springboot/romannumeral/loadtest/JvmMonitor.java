@@ -0,0 +1,158 @@
+package com.springboot.romannumeral.loadtest;
+
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+* JvmMonitor samples the heap, the garbage collectors, the direct buffers and
+* the live threads of the JVM running the load test and the application.
+* For leak detection the heap is read as it was left by the last collection of
+* each pool, so the garbage waiting to be collected does not hide a trend.
+* A leak is flagged when the least squares slope of the retained heap, the
+* direct buffers or the live threads over the second half of the run stays
+* above its threshold.
+* @author  Yan Zhou
+* @version 1.0
+* @since   2021-02-15
+*/
+final class JvmMonitor {
+
+	private static final double NANOS_PER_HOUR = 3600e9;
+
+	private static final double BYTES_PER_MB = 1024 * 1024;
+
+	// Live threads per hour flagged as a thread leak.
+	private static final double THREAD_LEAK_PER_HOUR = 10;
+
+	// Samples needed in the second half of the run to fit a trend.
+	private static final int MIN_TREND_SAMPLES = 4;
+
+	/**
+	* One sample of the JVM.
+	*/
+	static final class Sample {
+
+		final long nanos;
+		final long heapUsed;
+		final long heapRetained;
+		final long directUsed;
+		final int threads;
+		final long gcCount;
+		final long gcMillis;
+
+		private Sample(long nanos, long heapUsed, long heapRetained, long directUsed, int threads, long gcCount, long gcMillis) {
+			this.nanos = nanos;
+			this.heapUsed = heapUsed;
+			this.heapRetained = heapRetained;
+			this.directUsed = directUsed;
+			this.threads = threads;
+			this.gcCount = gcCount;
+			this.gcMillis = gcMillis;
+		}
+	}
+
+	private final List<Sample> samples = new ArrayList<>();
+
+	/**
+	* sample takes a sample of the JVM and keeps it for leak detection.
+	*/
+	Sample sample() {
+
+		long heapRetained = 0;
+		for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+			MemoryUsage afterCollection = pool.getCollectionUsage();
+			if (pool.getType() == MemoryType.HEAP && afterCollection != null) {
+				heapRetained += afterCollection.getUsed();
+			}
+		}
+		long directUsed = 0;
+		for (BufferPoolMXBean pool : ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class)) {
+			if ("direct".equals(pool.getName())) {
+				directUsed = pool.getMemoryUsed();
+			}
+		}
+		long gcCount = 0;
+		long gcMillis = 0;
+		for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+			gcCount += Math.max(0, collector.getCollectionCount());
+			gcMillis += Math.max(0, collector.getCollectionTime());
+		}
+		Sample sample = new Sample(System.nanoTime(),
+				ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed(),
+				heapRetained,
+				directUsed,
+				ManagementFactory.getThreadMXBean().getThreadCount(),
+				gcCount,
+				gcMillis);
+		samples.add(sample);
+		return sample;
+	}
+
+	/**
+	* clear drops the samples taken so far, e.g. the ones of the warm-up.
+	*/
+	void clear() {
+		samples.clear();
+	}
+
+	/**
+	* hasTrend checks if there are enough samples in the second half of the run to fit a trend.
+	*/
+	boolean hasTrend() {
+		return samples.size() - samples.size() / 2 >= MIN_TREND_SAMPLES;
+	}
+
+	/**
+	* detectLeaks returns a description of every suspected leak, or an empty list.
+	* @param heapThresholdMbPerHour: retained heap growth flagged as a leak.
+	*/
+	List<String> detectLeaks(long heapThresholdMbPerHour) {
+
+		List<String> leaks = new ArrayList<>();
+		List<Sample> trend = samples.subList(samples.size() / 2, samples.size());
+		double heapSlope = slopePerHour(trend, s -> s.heapRetained) / BYTES_PER_MB;
+		if (heapSlope > heapThresholdMbPerHour) {
+			leaks.add(String.format("retained heap grows by %.1f MB/h (threshold %d MB/h)", heapSlope, heapThresholdMbPerHour));
+		}
+		double directSlope = slopePerHour(trend, s -> s.directUsed) / BYTES_PER_MB;
+		if (directSlope > heapThresholdMbPerHour) {
+			leaks.add(String.format("direct buffers grow by %.1f MB/h (threshold %d MB/h)", directSlope, heapThresholdMbPerHour));
+		}
+		double threadSlope = slopePerHour(trend, s -> s.threads);
+		if (threadSlope > THREAD_LEAK_PER_HOUR) {
+			leaks.add(String.format("live threads grow by %.1f/h", threadSlope));
+		}
+		return leaks;
+	}
+
+	private interface Metric {
+		double of(Sample sample);
+	}
+
+	// Least squares slope of metric over time, per hour.
+	private static double slopePerHour(List<Sample> samples, Metric metric) {
+
+		double meanTime = 0;
+		double meanValue = 0;
+		for (Sample sample : samples) {
+			meanTime += sample.nanos;
+			meanValue += metric.of(sample);
+		}
+		meanTime /= samples.size();
+		meanValue /= samples.size();
+		double covariance = 0;
+		double variance = 0;
+		for (Sample sample : samples) {
+			double time = sample.nanos - meanTime;
+			covariance += time * (metric.of(sample) - meanValue);
+			variance += time * time;
+		}
+		return variance == 0 ? 0 : covariance / variance * NANOS_PER_HOUR;
+	}
+}
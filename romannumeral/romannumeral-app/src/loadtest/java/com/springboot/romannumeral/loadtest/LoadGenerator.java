@@ -0,0 +1,108 @@
+package com.springboot.romannumeral.loadtest;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.HdrHistogram.Recorder;
+
+/**
+* LoadGenerator sends requests at a fixed rate over a number of persistent
+* connections, one thread per connection. Every connection has its own
+* schedule, and the latency of a request is measured from the time it was
+* scheduled to be sent, not from the time it was actually sent. A server stall
+* therefore shows up in the latency of all the requests which should have been
+* sent during the stall (no coordinated omission). The latency measured from
+* the actual send time is recorded as well, for comparison.
+* @author  Yan Zhou
+* @version 1.0
+* @since   2021-02-15
+*/
+final class LoadGenerator {
+
+	// Latency from the scheduled send time, in nanoseconds.
+	final Recorder correctedLatency = new Recorder(3);
+
+	// Latency from the actual send time, in nanoseconds.
+	final Recorder uncorrectedLatency = new Recorder(3);
+
+	// Responses per query kind, indexed by QueryMix.Kind ordinal.
+	final LongAdder[] responses = new LongAdder[QueryMix.Kind.values().length];
+
+	// Responses whose status is not the one expected for their query kind.
+	final LongAdder unexpectedStatus = new LongAdder();
+
+	// Requests which failed with an I/O error.
+	final LongAdder ioErrors = new LongAdder();
+
+	private final String host;
+	private final int port;
+	private final int connections;
+	private final long intervalNanos;
+	private final QueryMix queryMix;
+	private final List<Thread> threads = new ArrayList<>();
+
+	LoadGenerator(String host, int port, int rate, int connections, QueryMix queryMix) {
+		this.host = host;
+		this.port = port;
+		this.connections = connections;
+		this.intervalNanos = 1000000000L * connections / rate;
+		this.queryMix = queryMix;
+		for (int i = 0; i < responses.length; i++) {
+			responses[i] = new LongAdder();
+		}
+	}
+
+	/**
+	* start starts the connections. The schedules of the connections are
+	* spread evenly over one interval.
+	* @param startNanos: System.nanoTime() of the first request.
+	* @param endNanos: System.nanoTime() after which no request is scheduled.
+	*/
+	void start(long startNanos, long endNanos) {
+
+		for (int i = 0; i < connections; i++) {
+			long firstNanos = startNanos + intervalNanos * i / connections;
+			Thread thread = new Thread(() -> run(firstNanos, endNanos), "loadtest-connection-" + i);
+			thread.setDaemon(true);
+			threads.add(thread);
+			thread.start();
+		}
+	}
+
+	/**
+	* awaitEnd waits until every connection has sent its last request.
+	*/
+	void awaitEnd() throws InterruptedException {
+		for (Thread thread : threads) {
+			thread.join();
+		}
+	}
+
+	private void run(long firstNanos, long endNanos) {
+
+		try (HttpConnection connection = new HttpConnection(host, port)) {
+			for (long scheduled = firstNanos; scheduled < endNanos; scheduled += intervalNanos) {
+				long now;
+				while ((now = System.nanoTime()) < scheduled) {
+					LockSupport.parkNanos(scheduled - now);
+				}
+				QueryMix.Request request = queryMix.next();
+				try {
+					int status = connection.exchange(request.bytes);
+					long end = System.nanoTime();
+					correctedLatency.recordValue(end - scheduled);
+					uncorrectedLatency.recordValue(end - now);
+					responses[request.kind.ordinal()].increment();
+					if (status != request.kind.expectedStatus) {
+						unexpectedStatus.increment();
+					}
+				} catch (IOException ex) {
+					ioErrors.increment();
+				}
+			}
+		}
+	}
+}
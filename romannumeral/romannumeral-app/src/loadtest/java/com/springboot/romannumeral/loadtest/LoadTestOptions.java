@@ -0,0 +1,126 @@
+package com.springboot.romannumeral.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+* LoadTestOptions holds the options of LoadTestRunner, read from command line
+* arguments in the form --name=value. Arguments which are not load test options
+* are passed on to the application, e.g. --spring.profiles.active=prod.
+* Options:
+* 	--rate: total requests per second, default 2000.
+* 	--connections: number of keep-alive connections, default 64.
+* 	--duration: length of the measured run, e.g. 90s, 30m or 4h, default 60s.
+* 	--warmup: length of the unmeasured run before, default 15s.
+* 	--report-interval: time between two progress lines, default 10s.
+* 	--mix: percentages of valid, invalid and out-of-range queries, default 80,10,10.
+* 	--soak: enables leak detection, meant for runs of several hours.
+* 	--leak-threshold: heap growth in MB per hour flagged as a leak, default 16.
+* 	--hgrm: file the corrected latency distribution is written to.
+* @author  Yan Zhou
+* @version 1.0
+* @since   2021-02-15
+*/
+final class LoadTestOptions {
+
+	int rate = 2000;
+	int connections = 64;
+	long durationNanos = TimeUnit.SECONDS.toNanos(60);
+	long warmupNanos = TimeUnit.SECONDS.toNanos(15);
+	long reportIntervalNanos = TimeUnit.SECONDS.toNanos(10);
+	int validPercent = 80;
+	int invalidPercent = 10;
+	int outOfRangePercent = 10;
+	boolean soak;
+	long leakThresholdMbPerHour = 16;
+	String hgrmFile;
+	final List<String> applicationArgs = new ArrayList<>();
+
+	private LoadTestOptions() {
+	}
+
+	static LoadTestOptions parse(String[] args) {
+
+		LoadTestOptions options = new LoadTestOptions();
+		for (String arg : args) {
+			int separator = arg.indexOf('=');
+			String name = separator < 0 ? arg : arg.substring(0, separator);
+			String value = separator < 0 ? "" : arg.substring(separator + 1);
+			switch (name) {
+				case "--rate":
+					options.rate = Integer.parseInt(value);
+					break;
+				case "--connections":
+					options.connections = Integer.parseInt(value);
+					break;
+				case "--duration":
+					options.durationNanos = parseDuration(value);
+					break;
+				case "--warmup":
+					options.warmupNanos = parseDuration(value);
+					break;
+				case "--report-interval":
+					options.reportIntervalNanos = parseDuration(value);
+					break;
+				case "--mix":
+					String[] percents = value.split(",");
+					if (percents.length != 3) {
+						throw new IllegalArgumentException("--mix expects valid,invalid,out-of-range percentages: " + value);
+					}
+					options.validPercent = Integer.parseInt(percents[0].trim());
+					options.invalidPercent = Integer.parseInt(percents[1].trim());
+					options.outOfRangePercent = Integer.parseInt(percents[2].trim());
+					break;
+				case "--soak":
+					options.soak = value.isEmpty() || Boolean.parseBoolean(value);
+					break;
+				case "--leak-threshold":
+					options.leakThresholdMbPerHour = Long.parseLong(value);
+					break;
+				case "--hgrm":
+					options.hgrmFile = value;
+					break;
+				default:
+					options.applicationArgs.add(arg);
+			}
+		}
+		if (options.rate < 1 || options.connections < 1 || options.rate < options.connections) {
+			throw new IllegalArgumentException("--rate and --connections must be positive, with at least one request per second per connection.");
+		}
+		if (options.validPercent + options.invalidPercent + options.outOfRangePercent != 100) {
+			throw new IllegalArgumentException("--mix percentages must add up to 100.");
+		}
+		return options;
+	}
+
+	/**
+	* parseDuration parses durations such as 500ms, 90s, 30m or 4h. A number without unit is in seconds.
+	*/
+	static long parseDuration(String value) {
+
+		String text = value.trim().toLowerCase();
+		if (text.endsWith("ms")) {
+			return TimeUnit.MILLISECONDS.toNanos(Long.parseLong(text.substring(0, text.length() - 2)));
+		}
+		char unit = text.isEmpty() ? 's' : text.charAt(text.length() - 1);
+		String number = Character.isDigit(unit) ? text : text.substring(0, text.length() - 1);
+		switch (unit) {
+			case 'h':
+				return TimeUnit.HOURS.toNanos(Long.parseLong(number));
+			case 'm':
+				return TimeUnit.MINUTES.toNanos(Long.parseLong(number));
+			default:
+				return TimeUnit.SECONDS.toNanos(Long.parseLong(number));
+		}
+	}
+
+	boolean hasApplicationArg(String name) {
+		for (String arg : applicationArgs) {
+			if (arg.startsWith(name + "=")) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
@@ -0,0 +1,178 @@
+package com.springboot.romannumeral.loadtest;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.springboot.romannumeral.RomanNumeralApplication;
+
+/**
+* LoadTestRunner starts RomanNumeralApplication on a random local port and
+* drives GET /romannumeral at a fixed rate with LoadGenerator, then reports
+* the throughput, the latency distribution and the heap and GC statistics.
+* Progress is printed every report interval; in soak mode the run ends with
+* a leak check and the exit status is 2 when a leak is suspected.
+* Arguments are described in LoadTestOptions; the other arguments are passed
+* on to the application.
+* @author  Yan Zhou
+* @version 1.0
+* @since   2021-02-15
+*/
+public class LoadTestRunner {
+
+	private static final String HOST = "127.0.0.1";
+
+	private static final double NANOS_PER_MILLI = 1e6;
+
+	public static void main(String[] args) throws Exception {
+
+		LoadTestOptions options = LoadTestOptions.parse(args);
+		// A log line per request would measure the console, not the service.
+		if (!options.hasApplicationArg("--logging.level.com.springboot.romannumeral")) {
+			options.applicationArgs.add("--logging.level.com.springboot.romannumeral=warn");
+		}
+		options.applicationArgs.add("--server.port=0");
+
+		int exitStatus;
+		try (ConfigurableApplicationContext context = SpringApplication.run(RomanNumeralApplication.class,
+				options.applicationArgs.toArray(new String[0]))) {
+			int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+			exitStatus = run(options, port);
+		}
+		System.exit(exitStatus);
+	}
+
+	private static int run(LoadTestOptions options, int port) throws InterruptedException, IOException {
+
+		QueryMix queryMix = new QueryMix(HOST, port, options.validPercent, options.invalidPercent);
+		LoadGenerator generator = new LoadGenerator(HOST, port, options.rate, options.connections, queryMix);
+		JvmMonitor monitor = new JvmMonitor();
+
+		System.out.printf("Load test on port %d: %d requests/s over %d connections, mix %d/%d/%d, warm-up %ds, duration %ds%s%n",
+				port, options.rate, options.connections, options.validPercent, options.invalidPercent, options.outOfRangePercent,
+				TimeUnit.NANOSECONDS.toSeconds(options.warmupNanos), TimeUnit.NANOSECONDS.toSeconds(options.durationNanos),
+				options.soak ? ", soak" : "");
+
+		long start = System.nanoTime();
+		long measureStart = start + options.warmupNanos;
+		long end = measureStart + options.durationNanos;
+		generator.start(start, end);
+
+		// Warm-up: the results are dropped.
+		sleepUntil(measureStart);
+		generator.correctedLatency.reset();
+		generator.uncorrectedLatency.reset();
+		long[] warmupResponses = responses(generator);
+		long warmupErrors = generator.unexpectedStatus.sum() + generator.ioErrors.sum();
+		monitor.clear();
+		JvmMonitor.Sample first = monitor.sample();
+
+		Histogram corrected = new Histogram(3);
+		Histogram uncorrected = new Histogram(3);
+		Histogram interval = null;
+		Histogram uncorrectedInterval = null;
+		System.out.println("  elapsed       req/s    p50(ms)    p99(ms)  p99.9(ms)    max(ms)   heap(MB)  retained(MB)  gc/interval  gc-ms/interval");
+		JvmMonitor.Sample previous = first;
+		for (long report = measureStart + options.reportIntervalNanos; ; report += options.reportIntervalNanos) {
+			boolean last = report >= end;
+			if (last) {
+				generator.awaitEnd();
+			} else {
+				sleepUntil(report);
+			}
+			interval = generator.correctedLatency.getIntervalHistogram(interval);
+			uncorrectedInterval = generator.uncorrectedLatency.getIntervalHistogram(uncorrectedInterval);
+			corrected.add(interval);
+			uncorrected.add(uncorrectedInterval);
+			JvmMonitor.Sample sample = monitor.sample();
+			double seconds = (sample.nanos - previous.nanos) / 1e9;
+			System.out.printf("%8ds %11.0f %10.3f %10.3f %10.3f %10.3f %10.1f %13.1f %12d %15d%n",
+					TimeUnit.NANOSECONDS.toSeconds(sample.nanos - measureStart),
+					interval.getTotalCount() / seconds,
+					interval.getValueAtPercentile(50) / NANOS_PER_MILLI,
+					interval.getValueAtPercentile(99) / NANOS_PER_MILLI,
+					interval.getValueAtPercentile(99.9) / NANOS_PER_MILLI,
+					interval.getMaxValue() / NANOS_PER_MILLI,
+					sample.heapUsed / 1048576.0,
+					sample.heapRetained / 1048576.0,
+					sample.gcCount - previous.gcCount,
+					sample.gcMillis - previous.gcMillis);
+			previous = sample;
+			if (last) {
+				break;
+			}
+		}
+
+		JvmMonitor.Sample lastSample = previous;
+		double seconds = (lastSample.nanos - first.nanos) / 1e9;
+		long[] allResponses = responses(generator);
+		System.out.println();
+		System.out.printf("Requests: %d in %.1fs, %.0f requests/s (target %d)%n",
+				corrected.getTotalCount(), seconds, corrected.getTotalCount() / seconds, options.rate);
+		for (QueryMix.Kind kind : QueryMix.Kind.values()) {
+			System.out.printf("  %-13s %d%n", kind, allResponses[kind.ordinal()] - warmupResponses[kind.ordinal()]);
+		}
+		System.out.printf("  unexpected status or I/O error: %d%n",
+				generator.unexpectedStatus.sum() + generator.ioErrors.sum() - warmupErrors);
+		printPercentiles("Latency from scheduled send time (corrected for coordinated omission)", corrected);
+		printPercentiles("Latency from actual send time (uncorrected)", uncorrected);
+		System.out.printf("GC: %d collections, %d ms (%.2f%% of the run); heap retained %.1f MB -> %.1f MB%n",
+				lastSample.gcCount - first.gcCount, lastSample.gcMillis - first.gcMillis,
+				100.0 * (lastSample.gcMillis - first.gcMillis) / (seconds * 1000),
+				first.heapRetained / 1048576.0, lastSample.heapRetained / 1048576.0);
+
+		if (options.hgrmFile != null) {
+			try (PrintStream out = new PrintStream(new FileOutputStream(options.hgrmFile))) {
+				corrected.outputPercentileDistribution(out, NANOS_PER_MILLI);
+			}
+			System.out.println("Corrected latency distribution (ms) written to " + options.hgrmFile);
+		}
+
+		if (options.soak && !monitor.hasTrend()) {
+			System.out.println("Leak detection skipped: not enough samples, run longer or lower --report-interval.");
+		} else if (options.soak) {
+			List<String> leaks = monitor.detectLeaks(options.leakThresholdMbPerHour);
+			if (!leaks.isEmpty()) {
+				for (String leak : leaks) {
+					System.out.println("LEAK SUSPECTED: " + leak);
+				}
+				return 2;
+			}
+			System.out.println("No leak detected.");
+		}
+		return 0;
+	}
+
+	private static void printPercentiles(String title, Histogram histogram) {
+		System.out.println(title + ":");
+		System.out.printf("  p50 %.3f ms, p90 %.3f ms, p99 %.3f ms, p99.9 %.3f ms, p99.99 %.3f ms, max %.3f ms%n",
+				histogram.getValueAtPercentile(50) / NANOS_PER_MILLI,
+				histogram.getValueAtPercentile(90) / NANOS_PER_MILLI,
+				histogram.getValueAtPercentile(99) / NANOS_PER_MILLI,
+				histogram.getValueAtPercentile(99.9) / NANOS_PER_MILLI,
+				histogram.getValueAtPercentile(99.99) / NANOS_PER_MILLI,
+				histogram.getMaxValue() / NANOS_PER_MILLI);
+	}
+
+	private static long[] responses(LoadGenerator generator) {
+		long[] responses = new long[generator.responses.length];
+		for (int i = 0; i < responses.length; i++) {
+			responses[i] = generator.responses[i].sum();
+		}
+		return responses;
+	}
+
+	private static void sleepUntil(long nanos) throws InterruptedException {
+		long now;
+		while ((now = System.nanoTime()) < nanos) {
+			TimeUnit.NANOSECONDS.sleep(nanos - now);
+		}
+	}
+}
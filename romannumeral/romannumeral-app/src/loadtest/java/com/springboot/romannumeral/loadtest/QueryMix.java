@@ -0,0 +1,99 @@
+package com.springboot.romannumeral.loadtest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+* QueryMix draws the requests sent by the load test, mixing valid, invalid and
+* out-of-range queries by the percentages of LoadTestOptions.
+* The HTTP requests are encoded once, so drawing a request does not allocate
+* on the client side and the allocation measured is the one of the server.
+* @author  Yan Zhou
+* @version 1.0
+* @since   2021-02-15
+*/
+final class QueryMix {
+
+	/**
+	* Kind of a query, with the HTTP status the application must answer.
+	*/
+	enum Kind {
+		VALID(200), INVALID(422), OUT_OF_RANGE(422);
+
+		final int expectedStatus;
+
+		Kind(int expectedStatus) {
+			this.expectedStatus = expectedStatus;
+		}
+	}
+
+	/**
+	* One encoded HTTP request.
+	*/
+	static final class Request {
+
+		final Kind kind;
+		final byte[] bytes;
+
+		private Request(Kind kind, byte[] bytes) {
+			this.kind = kind;
+			this.bytes = bytes;
+		}
+	}
+
+	// Invalid integer formats, URL encoded.
+	private static final String[] INVALID_QUERIES = { "abc", "12a", "1.5", "%2B%2B1", "0x1F", "MCM", "1%2C000" };
+
+	// Integers out of the classic range [1,3999].
+	private static final String[] OUT_OF_RANGE_QUERIES = { "0", "-1", "4000", "99999", "-2147483648", "9223372036854775807" };
+
+	private final Request[] valid;
+	private final Request[] invalid;
+	private final Request[] outOfRange;
+	private final int validPercent;
+	private final int invalidPercent;
+
+	QueryMix(String host, int port, int validPercent, int invalidPercent) {
+
+		this.validPercent = validPercent;
+		this.invalidPercent = invalidPercent;
+		this.valid = new Request[3999];
+		for (int n = 1; n <= 3999; n++) {
+			valid[n - 1] = request(host, port, Kind.VALID, Integer.toString(n));
+		}
+		this.invalid = new Request[INVALID_QUERIES.length];
+		for (int i = 0; i < INVALID_QUERIES.length; i++) {
+			invalid[i] = request(host, port, Kind.INVALID, INVALID_QUERIES[i]);
+		}
+		this.outOfRange = new Request[OUT_OF_RANGE_QUERIES.length];
+		for (int i = 0; i < OUT_OF_RANGE_QUERIES.length; i++) {
+			outOfRange[i] = request(host, port, Kind.OUT_OF_RANGE, OUT_OF_RANGE_QUERIES[i]);
+		}
+	}
+
+	/**
+	* next draws the next request.
+	*/
+	Request next() {
+
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		int percent = random.nextInt(100);
+		Request[] requests;
+		if (percent < validPercent) {
+			requests = valid;
+		} else if (percent < validPercent + invalidPercent) {
+			requests = invalid;
+		} else {
+			requests = outOfRange;
+		}
+		return requests[random.nextInt(requests.length)];
+	}
+
+	private static Request request(String host, int port, Kind kind, String query) {
+		String request = "GET /romannumeral?query=" + query + " HTTP/1.1\r\n"
+				+ "Host: " + host + ":" + port + "\r\n"
+				+ "Accept: application/json\r\n"
+				+ "\r\n";
+		return new Request(kind, request.getBytes(StandardCharsets.US_ASCII));
+	}
+}
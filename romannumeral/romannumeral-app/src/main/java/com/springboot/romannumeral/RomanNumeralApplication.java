@@ -2,6 +2,9 @@ package com.springboot.romannumeral;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.springboot.romannumeral.file.FileConversionRunner;
 
 /**
 * RomanNumeralApplication
@@ -10,6 +13,9 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 * it into a Roman numeral representation if the queried value is
 * valid.
 * End point: /romannumeral
+* Started with romannumeral.file.input=<file>, set from any property source,
+* it converts the file offline instead, without web server, and exits (see
+* FileConversionRunner).
 * @author  Yan Zhou
 * @version 1.0
 * @since   2021-02-15 
@@ -18,7 +24,10 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 public class RomanNumeralApplication {
 
 	public static void main(String[] args) {
-		SpringApplication.run(RomanNumeralApplication.class, args);
+		ConfigurableApplicationContext context = SpringApplication.run(RomanNumeralApplication.class, args);
+		if (FileConversionRunner.isRequested(context.getEnvironment())) {
+			System.exit(SpringApplication.exit(context));
+		}
 	}
 
 }
@@ -0,0 +1,58 @@
+package com.springboot.romannumeral.config;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.springboot.romannumeral.limit.ConcurrencyLimitFilter;
+import com.springboot.romannumeral.limit.GradientConcurrencyLimit;
+import com.springboot.romannumeral.service.RomanNumeralMetrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+* ConcurrencyLimitConfiguration registers ConcurrencyLimitFilter for the
+* conversion end points '/romannumeral' and '/romannumeral/reverse' only, so
+* the actuator end points and the bulk and text end points are never shed.
+* The filter runs after the Spring Boot metrics filter, so the rejected
+* requests are recorded in http_server_requests as well.
+* It is enabled by default and disabled with romannumeral.limit.enabled=false.
+* @author  Yan Zhou
+* @version 1.0
+* @since   2021-02-15
+*/
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "romannumeral.limit.enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyLimitConfiguration {
+
+	@Bean
+	public GradientConcurrencyLimit conversionConcurrencyLimit(
+			@Value("${romannumeral.limit.initial:20}") int initialLimit,
+			@Value("${romannumeral.limit.min:4}") int minLimit,
+			@Value("${romannumeral.limit.max:200}") int maxLimit,
+			@Value("${romannumeral.limit.tolerance:2.0}") double tolerance,
+			@Value("${romannumeral.limit.smoothing:0.2}") double smoothing,
+			@Value("${romannumeral.limit.window-millis:100}") long windowMillis) {
+		return new GradientConcurrencyLimit(initialLimit, minLimit, maxLimit, tolerance, smoothing,
+				TimeUnit.MILLISECONDS.toNanos(windowMillis));
+	}
+
+	@Bean
+	public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(GradientConcurrencyLimit conversionConcurrencyLimit,
+			RomanNumeralMetrics romanNumeralMetrics, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+			@Value("${romannumeral.limit.retry-after:1}") long retryAfterSeconds) {
+		FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(new ConcurrencyLimitFilter(
+				conversionConcurrencyLimit, romanNumeralMetrics, objectMapper, retryAfterSeconds, meterRegistry));
+		registration.addUrlPatterns("/romannumeral", "/romannumeral/reverse");
+		registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+		return registration;
+	}
+}
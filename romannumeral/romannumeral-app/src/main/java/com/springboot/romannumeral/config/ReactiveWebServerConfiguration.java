@@ -0,0 +1,26 @@
+package com.springboot.romannumeral.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+* ReactiveWebServerConfiguration selects Netty as the web server when the
+* application is started as a reactive web application with
+* spring.main.web-application-type=reactive.
+* Tomcat is on the classpath for the default servlet mode and would otherwise
+* be picked by Spring Boot for the reactive mode as well.
+* @author  Yan Zhou
+* @version 1.0
+* @since   2021-02-15
+*/
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveWebServerConfiguration {
+
+	@Bean
+	public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+		return new NettyReactiveWebServerFactory();
+	}
+}
@@ -0,0 +1,29 @@
+package com.springboot.romannumeral.config;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import com.springboot.romannumeral.controller.EncodedResponseWriter;
+import com.springboot.romannumeral.service.RomanNumeralMetrics;
+
+/**
+* StartupConfiguration is active with spring profile 'startup', which
+* initializes the beans lazily (see application-startup.properties).
+* A few beans stay eager: RomanNumeralMetrics, so the counters are exported
+* from the first scrape, and EncodedResponseWriter, so the first request does
+* not pay for encoding the response bodies.
+* @author  Yan Zhou
+* @version 1.0
+* @since   2021-02-15
+*/
+@Configuration(proxyBeanMethods = false)
+@Profile("startup")
+public class StartupConfiguration {
+
+	@Bean
+	public static LazyInitializationExcludeFilter eagerRomanNumeralBeans() {
+		return LazyInitializationExcludeFilter.forBeanTypes(RomanNumeralMetrics.class, EncodedResponseWriter.class);
+	}
+}
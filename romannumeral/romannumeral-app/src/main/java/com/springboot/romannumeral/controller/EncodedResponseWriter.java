@@ -0,0 +1,249 @@
+package com.springboot.romannumeral.controller;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.apache.catalina.connector.CoyoteOutputStream;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.springboot.romannumeral.core.RomanNumeralConverter;
+import com.springboot.romannumeral.core.ValidationResult;
+import com.springboot.romannumeral.exception.ErrorDetails;
+import com.springboot.romannumeral.exception.ErrorResponses;
+import com.springboot.romannumeral.model.RomanNumeral;
+import com.springboot.romannumeral.service.RomanNumeralMetrics;
+import com.springboot.romannumeral.service.RomanNumeralService;
+
+/**
+* EncodedResponseWriter writes the responses of '/romannumeral' straight to the
+* servlet response, without RomanNumeral, ResponseEntity and the message converter.
+* The JSON body of every integer of the classic range, and the parts of the
+* ErrorDetails bodies around their timestamp, are serialized once by the
+* application ObjectMapper into a direct buffer, so the bytes are the ones
+* Jackson writes. Tomcat copies them from the direct buffer into its socket
+* buffer. The timestamp of an error is serialized once per second, when the
+* shared ErrorResponses refresh it.
+* The headers are the ones of RomanNumeralService: ETag and Cache-Control of
+* successful conversions (a matching If-None-Match is answered 304) and the
+* error caching policy. Queries which are not in canonical form (e.g. "+12")
+* or above 3999 are serialized by Jackson per request.
+* It is enabled by default and disabled with romannumeral.encoded-responses.enabled=false.
+* @author  Yan Zhou
+* @version 1.0
+* @since   2021-02-15
+*/
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "romannumeral.encoded-responses.enabled", havingValue = "true", matchIfMissing = true)
+public class EncodedResponseWriter {
+
+	// Highest validation error code of ErrorDetails.
+	private static final int MAX_ERROR_CODE = 3;
+
+	private static final String CONTENT_TYPE = MediaType.APPLICATION_JSON_VALUE;
+
+	private final RomanNumeralService romanNumeralService;
+	private final ObjectMapper objectMapper;
+	private final ErrorResponses errorResponses;
+
+	// Bodies of [1,3999] followed by the parts of the error bodies before and after the timestamp.
+	private final ByteBuffer bodies;
+
+	// Start of the body of n in bodies, indexed by n; offsets[n + 1] is its end.
+	private final int[] offsets = new int[RomanNumeralConverter.MAX_VALUE + 2];
+
+	// Start and end of the parts of the error bodies, indexed by error code.
+	private final int[] errorPrefixStart = new int[MAX_ERROR_CODE + 1];
+	private final int[] errorPrefixEnd = new int[MAX_ERROR_CODE + 1];
+	private final int[] errorSuffixEnd = new int[MAX_ERROR_CODE + 1];
+
+	// Timestamp of the current shared error response, indexed by error code.
+	private final AtomicReferenceArray<EncodedTimestamp> timestamps = new AtomicReferenceArray<>(MAX_ERROR_CODE + 1);
+
+	/**
+	* Constructor for EncodedResponseWriter.
+	* @param romanNumeralService validates the queries and records the metrics.
+	* @param objectMapper serializes the bodies, as the message converter does.
+	*/
+	public EncodedResponseWriter(RomanNumeralService romanNumeralService, ObjectMapper objectMapper) {
+
+		this.romanNumeralService = romanNumeralService;
+		this.objectMapper = objectMapper;
+		this.errorResponses = romanNumeralService.getErrorResponses();
+		try {
+			byte[][] valid = new byte[RomanNumeralConverter.MAX_VALUE + 1][];
+			int size = 0;
+			for (int n = RomanNumeralConverter.MIN_VALUE; n <= RomanNumeralConverter.MAX_VALUE; n++) {
+				valid[n] = objectMapper.writeValueAsBytes(new RomanNumeral(Integer.toString(n), RomanNumeralConverter.toRoman(n)));
+				size += valid[n].length;
+			}
+			byte[][] errors = new byte[MAX_ERROR_CODE + 1][];
+			int[] timestampStart = new int[MAX_ERROR_CODE + 1];
+			int[] timestampLength = new int[MAX_ERROR_CODE + 1];
+			for (int code = 1; code <= MAX_ERROR_CODE; code++) {
+				ErrorDetails errorDetails = errorResponses.get(code).getBody();
+				errors[code] = objectMapper.writeValueAsBytes(errorDetails);
+				byte[] timestamp = objectMapper.writeValueAsBytes(errorDetails.getTimestamp());
+				timestampStart[code] = indexOf(errors[code], timestamp);
+				timestampLength[code] = timestamp.length;
+				size += errors[code].length - timestamp.length;
+			}
+
+			bodies = ByteBuffer.allocateDirect(size);
+			for (int n = RomanNumeralConverter.MIN_VALUE; n <= RomanNumeralConverter.MAX_VALUE; n++) {
+				offsets[n] = bodies.position();
+				bodies.put(valid[n]);
+			}
+			offsets[RomanNumeralConverter.MAX_VALUE + 1] = bodies.position();
+			for (int code = 1; code <= MAX_ERROR_CODE; code++) {
+				int suffixStart = timestampStart[code] + timestampLength[code];
+				errorPrefixStart[code] = bodies.position();
+				bodies.put(errors[code], 0, timestampStart[code]);
+				errorPrefixEnd[code] = bodies.position();
+				bodies.put(errors[code], suffixStart, errors[code].length - suffixStart);
+				errorSuffixEnd[code] = bodies.position();
+			}
+		} catch (JsonProcessingException ex) {
+			throw new UncheckedIOException(ex);
+		}
+	}
+
+	/**
+	* write validates query and writes the response of '/romannumeral'.
+	* @return false when the client does not accept JSON and the response is not written.
+	*/
+	public boolean write(String query, HttpServletRequest request, HttpServletResponse response) throws IOException {
+
+		if (!acceptsJson(request.getHeader(HttpHeaders.ACCEPT))) {
+			return false;
+		}
+
+		ValidationResult result = romanNumeralService.validateRequest(query);
+		RomanNumeralMetrics metrics = romanNumeralService.getMetrics();
+		long validated = System.nanoTime();
+
+		if (!result.isValid()) {
+			writeError(result.getErrorCode(), response);
+			metrics.recordResponse(System.nanoTime() - validated);
+			return true;
+		}
+
+		long value = result.getValue();
+		String etag = romanNumeralService.etagOf(value);
+		response.setHeader(HttpHeaders.ETAG, etag);
+		response.setHeader(HttpHeaders.CACHE_CONTROL, romanNumeralService.getCacheControl());
+		if (notModified(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+			response.setStatus(HttpStatus.NOT_MODIFIED.value());
+			metrics.recordResponse(System.nanoTime() - validated);
+			return true;
+		}
+
+		response.setStatus(HttpStatus.OK.value());
+		response.setContentType(CONTENT_TYPE);
+		if (value <= RomanNumeralConverter.MAX_VALUE && query.length() == offsetsDigits((int) value)) {
+			// Canonical query: the body is already encoded.
+			long converted = System.nanoTime();
+			metrics.recordConversion(converted - validated);
+			int start = offsets[(int) value];
+			int end = offsets[(int) value + 1];
+			response.setContentLength(end - start);
+			write(response.getOutputStream(), start, end);
+			metrics.recordResponse(System.nanoTime() - converted);
+			return true;
+		}
+
+		String romanNumeral = romanNumeralService.toRoman(value);
+		long converted = System.nanoTime();
+		metrics.recordConversion(converted - validated);
+		byte[] body = objectMapper.writeValueAsBytes(new RomanNumeral(query, romanNumeral));
+		response.setContentLength(body.length);
+		response.getOutputStream().write(body);
+		metrics.recordResponse(System.nanoTime() - converted);
+		return true;
+	}
+
+	private void writeError(int errorCode, HttpServletResponse response) throws IOException {
+
+		ErrorDetails errorDetails = errorResponses.get(errorCode).getBody();
+		EncodedTimestamp timestamp = timestamps.get(errorCode);
+		if (timestamp == null || timestamp.errorDetails != errorDetails) {
+			timestamp = new EncodedTimestamp(errorDetails, objectMapper.writeValueAsBytes(errorDetails.getTimestamp()));
+			timestamps.set(errorCode, timestamp);
+		}
+
+		response.setStatus(ErrorResponses.statusOf(errorCode).value());
+		if (errorResponses.getCacheControl() != null) {
+			response.setHeader(HttpHeaders.CACHE_CONTROL, errorResponses.getCacheControl());
+		}
+		response.setContentType(CONTENT_TYPE);
+		response.setContentLength(errorSuffixEnd[errorCode] - errorPrefixStart[errorCode] + timestamp.bytes.length);
+		OutputStream out = response.getOutputStream();
+		write(out, errorPrefixStart[errorCode], errorPrefixEnd[errorCode]);
+		out.write(timestamp.bytes);
+		write(out, errorPrefixEnd[errorCode], errorSuffixEnd[errorCode]);
+	}
+
+	// Writes bodies[start, end) without copying it to the heap when the stream is Tomcat's.
+	private void write(OutputStream out, int start, int end) throws IOException {
+
+		ByteBuffer slice = bodies.duplicate();
+		slice.limit(end).position(start);
+		if (out instanceof CoyoteOutputStream) {
+			((CoyoteOutputStream) out).write(slice);
+		} else {
+			Channels.newChannel(out).write(slice);
+		}
+	}
+
+	// Number of characters of the canonical decimal form of n in [1,3999].
+	private static int offsetsDigits(int n) {
+		return n < 10 ? 1 : n < 100 ? 2 : n < 1000 ? 3 : 4;
+	}
+
+	private static boolean acceptsJson(String accept) {
+		return accept == null || accept.isEmpty() || accept.contains("*/*") || accept.contains("application/json")
+				|| accept.contains("application/*");
+	}
+
+	private static boolean notModified(String ifNoneMatch, String etag) {
+		return ifNoneMatch != null && (ifNoneMatch.trim().equals("*") || ifNoneMatch.contains(etag));
+	}
+
+	private static int indexOf(byte[] bytes, byte[] part) {
+		for (int i = 0; i <= bytes.length - part.length; i++) {
+			int j = 0;
+			while (j < part.length && bytes[i + j] == part[j]) {
+				j++;
+			}
+			if (j == part.length) {
+				return i;
+			}
+		}
+		throw new IllegalStateException("The timestamp is not found in the serialized ErrorDetails.");
+	}
+
+	private static final class EncodedTimestamp {
+
+		private final ErrorDetails errorDetails;
+		private final byte[] bytes;
+
+		private EncodedTimestamp(ErrorDetails errorDetails, byte[] bytes) {
+			this.errorDetails = errorDetails;
+			this.bytes = bytes;
+		}
+	}
+}
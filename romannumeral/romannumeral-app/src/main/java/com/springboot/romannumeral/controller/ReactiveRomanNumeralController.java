@@ -0,0 +1,317 @@
+package com.springboot.romannumeral.controller;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.springboot.romannumeral.core.ValidationResult;
+import com.springboot.romannumeral.exception.ErrorDetails;
+import com.springboot.romannumeral.model.RomanNumeral;
+import com.springboot.romannumeral.service.BulkConversionService;
+import com.springboot.romannumeral.service.RomanNumeralMetrics;
+import com.springboot.romannumeral.service.RomanNumeralService;
+import com.springboot.romannumeral.service.TextConversionService;
+import com.springboot.romannumeral.warmup.WarmUpRunner;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.scheduler.Schedulers;
+
+/**
+* The ReactiveRomanNumeralController class is the WebFlux RestController
+* for RomanNumeralApplication, used instead of RomanNumeralController when
+* the application runs as a reactive web application on Netty
+* (spring.main.web-application-type=reactive).
+* It is served by the same RomanNumeralService and returns the same
+* responses as RomanNumeralController. The conversion never blocks, so the
+* responses are returned directly on the event loop, except for the streaming
+* end points '/romannumeral/bulk' and '/romannumeral/text': BulkConversionService
+* and TextConversionService block on their InputStream and OutputStream, so
+* they run on the boundedElastic scheduler, reading the request body a few
+* buffers ahead and writing the response body as fast as the client reads it.
+* The warm-up requests of WarmUpRunner are served with the recording of
+* RomanNumeralMetrics turned off: the conversion runs on the calling thread,
+* so the switch is set around it here, where WarmUpRequestFilter sets it
+* around the whole request on the servlet stack.
+* @author  Yan Zhou
+* @version 1.0
+* @since   2021-02-15
+*/
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveRomanNumeralController {
+
+	private Logger log = LoggerFactory.getLogger(this.getClass());
+
+	private final RomanNumeralService romanNumeralService;
+
+	private final BulkConversionService bulkConversionService;
+
+	private final TextConversionService textConversionService;
+
+	// Request body buffers read ahead of a streaming conversion.
+	private static final int BODY_PREFETCH = 4;
+
+	public ReactiveRomanNumeralController(RomanNumeralService romanNumeralService,
+			BulkConversionService bulkConversionService, TextConversionService textConversionService) {
+		this.romanNumeralService = romanNumeralService;
+		this.bulkConversionService = bulkConversionService;
+		this.textConversionService = textConversionService;
+	}
+
+	/**
+	* Controller method to create mapping between end point "/romannumeral" and 
+	* service RomanNumeralService. 
+	*/
+	@GetMapping("/romannumeral")
+	public ResponseEntity<?> romannumeral(@RequestParam String query,
+			@RequestHeader(name = WarmUpRunner.WARM_UP_HEADER, required = false) String warmUp) {
+
+		log.info("/romannumeral is getting called with query value:[{}]", query);
+		return serve(warmUp, () -> romanNumeralService.getRomanNumeral(query));
+
+	}
+
+	/**
+	* Controller method to create mapping between end point "/romannumeral" with range
+	* parameters min and max. The RomanNumeral of every integer in [min, max] is
+	* streamed back as one JSON record per line.
+	*/
+	@GetMapping(value = "/romannumeral", params = { "min", "max" })
+	public ResponseEntity<?> range(@RequestParam String min, @RequestParam String max) {
+
+		log.info("/romannumeral is getting called with range:[{}, {}]", min, max);
+		ValidationResult minResult = romanNumeralService.validateQuery(min);
+		ValidationResult maxResult = romanNumeralService.validateQuery(max);
+		ResponseEntity<ErrorDetails> error = bulkConversionService.rangeError(minResult, maxResult);
+		if (error != null) {
+			return error;
+		}
+		long last = maxResult.getValue();
+		Flux<RomanNumeral> body = Flux.<Long, Long>generate(minResult::getValue, (n, sink) -> {
+					sink.next(n);
+					if (n == last) {
+						sink.complete();
+					}
+					return n + 1;
+				})
+				.map(n -> new RomanNumeral(Long.toString(n), romanNumeralService.toRoman(n)));
+		return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+
+	}
+
+	/**
+	* Controller method to create mapping between end point "/romannumeral/reverse" and 
+	* service RomanNumeralService. Converts a Roman numeral back into an integer.
+	*/
+	@GetMapping("/romannumeral/reverse")
+	public ResponseEntity<?> reverse(@RequestParam String query,
+			@RequestHeader(name = WarmUpRunner.WARM_UP_HEADER, required = false) String warmUp) {
+
+		log.info("/romannumeral/reverse is getting called with query value:[{}]", query);
+		return serve(warmUp, () -> romanNumeralService.getInteger(query));
+
+	}
+
+	/**
+	* Controller method to create mapping between end point "/romannumeral/bulk" and 
+	* service BulkConversionService. The body holds one query per line, the response
+	* is streamed back with one RomanNumeral or ErrorDetails JSON record per line.
+	*/
+	@PostMapping(value = "/romannumeral/bulk", produces = MediaType.APPLICATION_NDJSON_VALUE)
+	public ResponseEntity<Flux<DataBuffer>> bulk(@RequestBody Flux<DataBuffer> body) {
+
+		log.info("/romannumeral/bulk is getting called");
+		Flux<DataBuffer> responseBody = convert(body, (in, out) -> bulkConversionService.convert(in, out));
+		return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(responseBody);
+
+	}
+
+	/**
+	* Controller method to create mapping between end point "/romannumeral/text" and 
+	* service TextConversionService. The body is a free text, the response is the same
+	* text streamed back with its standalone integers replaced by Roman numerals, or its
+	* standalone Roman numerals replaced by integers when reverse is true; one-letter
+	* numerals such as the pronoun "I" are only replaced when singleLetters is true too.
+	* The response has the content type of the request.
+	*/
+	@PostMapping(value = "/romannumeral/text", consumes = "text/*")
+	public ResponseEntity<Flux<DataBuffer>> text(@RequestParam(defaultValue = "false") boolean reverse,
+			@RequestParam(defaultValue = "false") boolean singleLetters, @RequestBody Flux<DataBuffer> body,
+			ServerHttpRequest request) {
+
+		log.info("/romannumeral/text is getting called with reverse:[{}], singleLetters:[{}]", reverse, singleLetters);
+		MediaType contentType = request.getHeaders().getContentType();
+		Flux<DataBuffer> responseBody = convert(body, (in, out) -> textConversionService.convert(in, out, reverse, singleLetters));
+		return ResponseEntity.ok().contentType(contentType).body(responseBody);
+
+	}
+
+	// Runs conversion, without recording it in the metrics when warmUp marks a warm-up request.
+	private ResponseEntity<?> serve(String warmUp, Supplier<ResponseEntity<?>> conversion) {
+
+		if (!WarmUpRunner.isWarmUpRequest(warmUp)) {
+			return conversion.get();
+		}
+		RomanNumeralMetrics metrics = romanNumeralService.getMetrics();
+		metrics.setRecording(false);
+		try {
+			return conversion.get();
+		} finally {
+			metrics.setRecording(true);
+		}
+	}
+
+	/**
+	* convert runs a blocking stream conversion on the boundedElastic scheduler. The
+	* request body is read through BodyInputStream, BODY_PREFETCH buffers ahead, and
+	* every write of the conversion is emitted as a response body buffer by
+	* SinkOutputStream, which waits until the client requested it. A failure after the
+	* response is committed aborts the response, as on the servlet stack.
+	*/
+	private Flux<DataBuffer> convert(Flux<DataBuffer> body, StreamConversion conversion) {
+
+		return Flux.create(sink -> Schedulers.boundedElastic().schedule(() -> {
+			try (Stream<DataBuffer> buffers = body.doOnDiscard(DataBuffer.class, DataBufferUtils::release).toStream(BODY_PREFETCH);
+					BodyInputStream in = new BodyInputStream(buffers.iterator())) {
+				conversion.convert(in, new SinkOutputStream(sink));
+				sink.complete();
+			} catch (IOException | RuntimeException e) {
+				if (!sink.isCancelled()) {
+					sink.error(e);
+				}
+			}
+		}));
+	}
+
+	// A conversion of a request body into a response body.
+	private interface StreamConversion {
+		void convert(InputStream in, OutputStream out) throws IOException;
+	}
+
+	/**
+	* BodyInputStream reads a request body one DataBuffer at a time, releasing
+	* every buffer once it is read.
+	*/
+	private static final class BodyInputStream extends InputStream {
+
+		private final Iterator<DataBuffer> buffers;
+
+		// Buffer being read, null before the first one and once the body is read.
+		private DataBuffer current;
+
+		BodyInputStream(Iterator<DataBuffer> buffers) {
+			this.buffers = buffers;
+		}
+
+		@Override
+		public int read() throws IOException {
+			return next() ? current.read() & 0xFF : -1;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			if (len == 0) {
+				return 0;
+			}
+			if (!next()) {
+				return -1;
+			}
+			int read = Math.min(len, current.readableByteCount());
+			current.read(b, off, read);
+			return read;
+		}
+
+		@Override
+		public void close() {
+			release();
+		}
+
+		// Moves to the next buffer with readable bytes, false at the end of the body.
+		private boolean next() {
+			while (current == null || current.readableByteCount() == 0) {
+				release();
+				if (!buffers.hasNext()) {
+					return false;
+				}
+				current = buffers.next();
+			}
+			return true;
+		}
+
+		private void release() {
+			if (current != null) {
+				DataBufferUtils.release(current);
+				current = null;
+			}
+		}
+	}
+
+	/**
+	* SinkOutputStream emits every write as a DataBuffer of the response body. A
+	* write waits until the client requested more, so a slow client slows the
+	* conversion down instead of filling the memory, and fails once the client is
+	* gone.
+	*/
+	private static final class SinkOutputStream extends OutputStream {
+
+		private final FluxSink<DataBuffer> sink;
+
+		SinkOutputStream(FluxSink<DataBuffer> sink) {
+			this.sink = sink;
+			sink.onRequest(n -> wakeUp());
+			sink.onCancel(this::wakeUp);
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			write(new byte[] { (byte) b }, 0, 1);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			if (len == 0) {
+				return;
+			}
+			synchronized (this) {
+				while (sink.requestedFromDownstream() == 0 && !sink.isCancelled()) {
+					try {
+						wait();
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+						throw new InterruptedIOException("interrupted while waiting for the client");
+					}
+				}
+			}
+			if (sink.isCancelled()) {
+				throw new IOException("response cancelled by the client");
+			}
+			sink.next(DefaultDataBufferFactory.sharedInstance.wrap(Arrays.copyOfRange(b, off, off + len)));
+		}
+
+		private synchronized void wakeUp() {
+			notifyAll();
+		}
+	}
+}
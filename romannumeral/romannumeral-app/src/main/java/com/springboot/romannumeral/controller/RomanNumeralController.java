@@ -0,0 +1,141 @@
+package com.springboot.romannumeral.controller;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.springboot.romannumeral.core.ValidationResult;
+import com.springboot.romannumeral.exception.ErrorDetails;
+import com.springboot.romannumeral.service.BulkConversionService;
+import com.springboot.romannumeral.service.RomanNumeralService;
+import com.springboot.romannumeral.service.TextConversionService;
+
+
+/**
+* The RomanNumeralController class is the RestController
+* for RomanNumeralApplication. 
+* @author  Yan Zhou
+* @version 1.0
+* @since   2021-02-15 
+*/
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class RomanNumeralController {
+
+	private Logger log = LoggerFactory.getLogger(this.getClass());
+	
+	@Autowired
+	private RomanNumeralService romanNumeralService;
+	
+	@Autowired
+	private BulkConversionService bulkConversionService;
+	
+	@Autowired
+	private TextConversionService textConversionService;
+	
+	// Writes the pre-encoded responses, null when romannumeral.encoded-responses.enabled=false.
+	@Autowired(required = false)
+	private EncodedResponseWriter encodedResponseWriter;
+	
+	
+	/**
+	* Controller method to create mapping between end point "/romannumeral" and 
+	* service RomanNumeralService. The response is written by EncodedResponseWriter
+	* when it is enabled and the client accepts JSON.
+	*/
+	@GetMapping("/romannumeral")
+	public ResponseEntity<?> romannumeral(@RequestParam String query, HttpServletRequest request,
+			HttpServletResponse response) throws IOException {
+		
+		log.info("/romannumeral is getting called with query value:[{}]", query);
+		if (encodedResponseWriter != null && encodedResponseWriter.write(query, request, response)) {
+			return null;
+		}
+		return romanNumeralService.getRomanNumeral(query);
+
+	}
+	
+	/**
+	* Controller method to create mapping between end point "/romannumeral" with range
+	* parameters min and max and service BulkConversionService. The RomanNumeral of every
+	* integer in [min, max] is streamed back as one JSON record per line.
+	*/
+	@GetMapping(value = "/romannumeral", params = { "min", "max" })
+	public ResponseEntity<StreamingResponseBody> range(@RequestParam String min, @RequestParam String max) {
+		
+		log.info("/romannumeral is getting called with range:[{}, {}]", min, max);
+		ValidationResult minResult = romanNumeralService.validateQuery(min);
+		ValidationResult maxResult = romanNumeralService.validateQuery(max);
+		ResponseEntity<ErrorDetails> error = bulkConversionService.rangeError(minResult, maxResult);
+		if (error != null) {
+			// Streaming end points can only return a StreamingResponseBody, so the error is written by it.
+			ErrorDetails errorDetails = error.getBody();
+			return ResponseEntity.status(error.getStatusCode()).headers(error.getHeaders()).contentType(MediaType.APPLICATION_JSON)
+					.body(out -> bulkConversionService.writeError(errorDetails, out));
+		}
+		StreamingResponseBody responseBody = out -> bulkConversionService.convertRange(minResult.getValue(), maxResult.getValue(), out);
+		return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(responseBody);
+
+	}
+	
+	/**
+	* Controller method to create mapping between end point "/romannumeral/reverse" and 
+	* service RomanNumeralService. Converts a Roman numeral back into an integer.
+	*/
+	@GetMapping("/romannumeral/reverse")
+	public ResponseEntity<?> reverse(@RequestParam String query) {
+		
+		log.info("/romannumeral/reverse is getting called with query value:[{}]", query);
+		return romanNumeralService.getInteger(query);
+
+	}
+	
+	/**
+	* Controller method to create mapping between end point "/romannumeral/bulk" and 
+	* service BulkConversionService. The body holds one query per line, the response
+	* is streamed back with one RomanNumeral or ErrorDetails JSON record per line.
+	*/
+	@PostMapping(value = "/romannumeral/bulk", produces = MediaType.APPLICATION_NDJSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> bulk(InputStream body) {
+		
+		log.info("/romannumeral/bulk is getting called");
+		StreamingResponseBody responseBody = out -> bulkConversionService.convert(body, out);
+		return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(responseBody);
+
+	}
+	
+	/**
+	* Controller method to create mapping between end point "/romannumeral/text" and 
+	* service TextConversionService. The body is a free text, the response is the same
+	* text streamed back with its standalone integers replaced by Roman numerals, or its
+	* standalone Roman numerals replaced by integers when reverse is true; one-letter
+	* numerals such as the pronoun "I" are only replaced when singleLetters is true too.
+	* The response has the content type of the request (text/plain, text/markdown,
+	* text/html, ...), as its bytes are the bytes of the text.
+	*/
+	@PostMapping(value = "/romannumeral/text", consumes = "text/*")
+	public ResponseEntity<StreamingResponseBody> text(@RequestParam(defaultValue = "false") boolean reverse,
+			@RequestParam(defaultValue = "false") boolean singleLetters, InputStream body, HttpServletRequest request) {
+		
+		log.info("/romannumeral/text is getting called with reverse:[{}], singleLetters:[{}]", reverse, singleLetters);
+		MediaType contentType = MediaType.parseMediaType(request.getContentType());
+		StreamingResponseBody responseBody = out -> textConversionService.convert(body, out, reverse, singleLetters);
+		return ResponseEntity.ok().contentType(contentType).body(responseBody);
+
+	}
+
+}
@@ -27,6 +27,7 @@ public class ErrorDetails {
 	*   1: Parameter query's value is either empty or only contains white space.
 	*   2: Parameter query's value is not a correct integer format.
 	*   3: Parameter query's value is out of the supported range: [1,3999].
+	*   4: The request is rejected because the service is overloaded.
 	* @param message: description of the error.
 	* @param details: detail information about the request. 
 	* 		 currently listing the URI of the request.
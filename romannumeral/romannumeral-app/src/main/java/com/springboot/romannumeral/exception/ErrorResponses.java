@@ -0,0 +1,126 @@
+package com.springboot.romannumeral.exception;
+
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+/**
+* The ErrorResponses class keeps prebuilt error responses of one end point
+* for the validation error codes 1 to 3 of ErrorDetails, so rejecting a bad
+* request neither throws an exception nor formats a message.
+* The responses are shared and their timestamp is refreshed at most once
+* per second, hence the returned ErrorDetails must not be modified.
+* The responses carry the Cache-Control header of the error caching policy.
+* @author  Yan Zhou
+* @version 1.0
+* @since   2021-02-15
+*/
+public class ErrorResponses {
+
+	// Highest validation error code of ErrorDetails.
+	private static final int MAX_ERROR_CODE = 3;
+
+	private final String details;
+	private final String[] messages;
+	// Value of the Cache-Control header, or null to send none.
+	private final String cacheControl;
+	private final AtomicReferenceArray<CachedResponse> cache = new AtomicReferenceArray<>(MAX_ERROR_CODE + 1);
+
+	/**
+	* The constructor of ErrorResponses class.
+	* @param details: detail information about the request, the URI of the end point.
+	* @param messages: description of the errors, indexed by error code 1 to 3.
+	*/
+	public ErrorResponses(String details, String[] messages) {
+		this(details, messages, null);
+	}
+
+	/**
+	* The constructor of ErrorResponses class.
+	* @param details: detail information about the request, the URI of the end point.
+	* @param messages: description of the errors, indexed by error code 1 to 3.
+	* @param cacheControl: value of the Cache-Control header of the responses, or null.
+	*/
+	public ErrorResponses(String details, String[] messages, String cacheControl) {
+		if (messages.length != MAX_ERROR_CODE + 1) {
+			throw new IllegalArgumentException("messages must be indexed by error code 1 to 3.");
+		}
+		this.details = details;
+		this.messages = messages.clone();
+		this.cacheControl = cacheControl;
+	}
+
+	/**
+	* get returns the shared error response of errorCode.
+	* @param errorCode: error code 1 to 3 of ErrorDetails.
+	*/
+	public ResponseEntity<ErrorDetails> get(int errorCode) {
+		long now = System.currentTimeMillis();
+		long second = now / 1000;
+		CachedResponse cached = cache.get(errorCode);
+		if (cached == null || cached.second != second) {
+			ErrorDetails errorDetails = new ErrorDetails(new Date(now), errorCode, messages[errorCode], details);
+			ResponseEntity.BodyBuilder builder = ResponseEntity.status(statusOf(errorCode));
+			if (cacheControl != null) {
+				builder.header(HttpHeaders.CACHE_CONTROL, cacheControl);
+			}
+			cached = new CachedResponse(second, builder.body(errorDetails));
+			cache.set(errorCode, cached);
+		}
+		return cached.response;
+	}
+
+	/**
+	* getMessage returns the description of errorCode.
+	* @param errorCode: error code 1 to 3 of ErrorDetails.
+	*/
+	public String getMessage(int errorCode) {
+		return messages[errorCode];
+	}
+
+	/**
+	* getter for cacheControl.
+	*/
+	public String getCacheControl() {
+		return cacheControl;
+	}
+
+	/**
+	* getter for details.
+	*/
+	public String getDetails() {
+		return details;
+	}
+
+	/**
+	* statusOf returns the HttpStatus returned along with errorCode.
+	* @param errorCode: error code of ErrorDetails.
+	*/
+	public static HttpStatus statusOf(int errorCode) {
+		switch (errorCode) {
+			case 1:
+				return HttpStatus.BAD_REQUEST;
+			case 2:
+			case 3:
+				return HttpStatus.UNPROCESSABLE_ENTITY;
+			case 4:
+				return HttpStatus.SERVICE_UNAVAILABLE;
+			default:
+				return HttpStatus.INTERNAL_SERVER_ERROR;
+		}
+	}
+
+	private static final class CachedResponse {
+
+		private final long second;
+		private final ResponseEntity<ErrorDetails> response;
+
+		private CachedResponse(long second, ResponseEntity<ErrorDetails> response) {
+			this.second = second;
+			this.response = response;
+		}
+	}
+}
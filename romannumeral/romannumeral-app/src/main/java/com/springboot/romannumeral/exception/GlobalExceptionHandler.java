@@ -2,12 +2,17 @@ package com.springboot.romannumeral.exception;
 
 import java.util.Date;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.context.request.WebRequest;
 
+import com.springboot.romannumeral.service.RomanNumeralMetrics;
+
 /**
 * The GlobalExceptionHandler is the customized exception handler 
 * for RomanNumeralApplication. 
@@ -16,7 +21,12 @@ import org.springframework.web.context.request.WebRequest;
 * @since   2021-02-15 
 */
 @ControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class GlobalExceptionHandler {
+
+	// Counts the unexpected errors (error code 0).
+	@Autowired
+	private RomanNumeralMetrics romanNumeralMetrics;
 	
 	
 	/**
@@ -66,8 +76,10 @@ public class GlobalExceptionHandler {
 	*/
 	@ExceptionHandler(Exception.class)
 	public ResponseEntity<?> globalExceptionHandling(Exception exception, WebRequest request){
+		romanNumeralMetrics.error(0);
 		ErrorDetails errorDetails = 
 				new ErrorDetails(new Date(), 0, exception.getMessage(), request.getDescription(false));
-		return new ResponseEntity<>(errorDetails, HttpStatus.INTERNAL_SERVER_ERROR);
+		// Unexpected errors must never be cached.
+		return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).cacheControl(CacheControl.noStore()).body(errorDetails);
 	}
 }
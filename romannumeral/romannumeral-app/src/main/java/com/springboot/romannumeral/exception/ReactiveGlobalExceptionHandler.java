@@ -0,0 +1,84 @@
+package com.springboot.romannumeral.exception;
+
+import java.util.Date;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.springboot.romannumeral.service.RomanNumeralMetrics;
+
+/**
+* The ReactiveGlobalExceptionHandler is the customized exception handler 
+* for RomanNumeralApplication when it runs as a reactive web application.
+* It returns the same ErrorDetails as GlobalExceptionHandler.
+* @author  Yan Zhou
+* @version 1.0
+* @since   2021-02-15
+*/
+@ControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveGlobalExceptionHandler {
+
+	// Counts the unexpected errors (error code 0).
+	@Autowired
+	private RomanNumeralMetrics romanNumeralMetrics;
+
+	/**
+	*  noInputHandling is used to handle NoInputException.
+	* @param exception: type NoInputException
+	* @param exchange: 	type ServerWebExchange
+	*/
+	@ExceptionHandler(NoInputException.class)
+	public ResponseEntity<?> noInputHandling(NoInputException exception, ServerWebExchange exchange){
+		return errorResponse(1, exception, exchange, HttpStatus.BAD_REQUEST);
+	}
+
+	/**
+	* invalidIntegerFormatHandling is used to handle InvalidIntegerFormatException.
+	* @param exception: type InvalidIntegerFormatException
+	* @param exchange: 	type ServerWebExchange
+	*/
+	@ExceptionHandler(InvalidIntegerFormatException.class)
+	public ResponseEntity<?> invalidIntegerFormatHandling(InvalidIntegerFormatException exception, ServerWebExchange exchange){
+		return errorResponse(2, exception, exchange, HttpStatus.UNPROCESSABLE_ENTITY);
+	}
+
+	/**
+	* outOfRangeHandling is used to handle InputIntegerOutOfRangException.
+	* @param exception: type InputIntegerOutOfRangException
+	* @param exchange: 	type ServerWebExchange
+	*/
+	@ExceptionHandler(InputIntegerOutOfRangException.class)
+	public ResponseEntity<?> outOfRangeHandling(InputIntegerOutOfRangException exception, ServerWebExchange exchange){
+		return errorResponse(3, exception, exchange, HttpStatus.UNPROCESSABLE_ENTITY);
+	}
+
+	/**
+	* globalExceptionHandling is used to handle any other Exception, including
+	* a missing request parameter query.
+	* @param exception: type Exception
+	* @param exchange: 	type ServerWebExchange
+	*/
+	@ExceptionHandler(Exception.class)
+	public ResponseEntity<?> globalExceptionHandling(Exception exception, ServerWebExchange exchange){
+		romanNumeralMetrics.error(0);
+		return errorResponse(0, exception, exchange, HttpStatus.INTERNAL_SERVER_ERROR);
+	}
+
+	// Same details as WebRequest.getDescription(false) of the servlet stack: "uri=<path>".
+	private ResponseEntity<?> errorResponse(int errorCode, Exception exception, ServerWebExchange exchange, HttpStatus status) {
+		ErrorDetails errorDetails = new ErrorDetails(new Date(), errorCode, exception.getMessage(),
+				"uri=" + exchange.getRequest().getPath().value());
+		if (errorCode == 0) {
+			// Unexpected errors must never be cached.
+			return ResponseEntity.status(status).cacheControl(CacheControl.noStore()).body(errorDetails);
+		}
+		return new ResponseEntity<>(errorDetails, status);
+	}
+}
@@ -0,0 +1,35 @@
+package com.springboot.romannumeral.file;
+
+import java.util.Collections;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+
+/**
+* FileConversionEnvironmentPostProcessor starts the offline file conversion
+* mode from the resolved Environment: when romannumeral.file.input is set,
+* from the command line, a system property, an environment variable or a
+* properties file, the application is switched to a non-web application
+* (spring.main.web-application-type=none), so no web server, warm-up or
+* health probe is started for FileConversionRunner. Registered in
+* META-INF/spring.factories.
+* @author  Yan Zhou
+* @version 1.0
+* @since   2021-02-15
+*/
+public class FileConversionEnvironmentPostProcessor implements EnvironmentPostProcessor {
+
+	// Property source taking precedence over every other one.
+	private static final String PROPERTY_SOURCE = "romannumeralFileConversion";
+
+	@Override
+	public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+
+		if (FileConversionRunner.isRequested(environment)) {
+			environment.getPropertySources().addFirst(new MapPropertySource(PROPERTY_SOURCE,
+					Collections.singletonMap("spring.main.web-application-type", "none")));
+		}
+	}
+}
@@ -0,0 +1,103 @@
+package com.springboot.romannumeral.file;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.ExitCodeGenerator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnNotWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import com.springboot.romannumeral.service.RomanNumeralService;
+
+/**
+* FileConversionRunner runs the offline file conversion mode, when the
+* application is started with romannumeral.file.input from any property
+* source. The application is then a non-web application (see
+* FileConversionEnvironmentPostProcessor), which exits once the file is
+* converted (see RomanNumeralApplication.main). The file is converted by
+* FileConverter and the summary, with the throughput in MB/s, is printed to
+* the console.
+* Properties:
+* 	romannumeral.file.input: file to convert.
+* 	romannumeral.file.output: numerals, line for line (default: input + ".roman").
+* 	romannumeral.file.errors: error report (default: output + ".errors.csv").
+* 	romannumeral.file.column: column of the values counted from 1, 0 for the whole line (default 0).
+* 	romannumeral.file.delimiter: column delimiter (default ',').
+* 	romannumeral.file.threads: chunks converted in parallel (default: number of processors).
+* 	romannumeral.file.chunk-size: size of the chunks in bytes (default 4 MB).
+* @author  Yan Zhou
+* @version 1.0
+* @since   2021-02-15
+*/
+@Component
+@ConditionalOnProperty(name = "romannumeral.file.input")
+@ConditionalOnNotWebApplication
+public class FileConversionRunner implements ApplicationRunner, ExitCodeGenerator {
+
+	// Property which starts the file conversion mode.
+	public static final String INPUT_PROPERTY = "romannumeral.file.input";
+
+	private Logger log = LoggerFactory.getLogger(FileConversionRunner.class);
+
+	private final FileConverter fileConverter;
+	private final Path input;
+	private final Path output;
+	private final Path errors;
+
+	private int exitCode;
+
+	/**
+	* Constructor for FileConversionRunner.
+	*/
+	public FileConversionRunner(RomanNumeralService romanNumeralService,
+			@Value("${romannumeral.file.input}") String input,
+			@Value("${romannumeral.file.output:}") String output,
+			@Value("${romannumeral.file.errors:}") String errors,
+			@Value("${romannumeral.file.column:0}") int column,
+			@Value("${romannumeral.file.delimiter:,}") char delimiter,
+			@Value("${romannumeral.file.threads:0}") int threads,
+			@Value("${romannumeral.file.chunk-size:4194304}") int chunkSize) {
+
+		this.input = Paths.get(input);
+		this.output = Paths.get(output.isEmpty() ? input + ".roman" : output);
+		this.errors = Paths.get(errors.isEmpty() ? this.output + ".errors.csv" : errors);
+		this.fileConverter = new FileConverter(romanNumeralService, column, delimiter,
+				threads > 0 ? threads : Runtime.getRuntime().availableProcessors(), chunkSize);
+	}
+
+	@Override
+	public void run(ApplicationArguments args) {
+
+		try {
+			FileConverter.Result result = fileConverter.convert(input, output, errors);
+			System.out.printf("Converted %s: %d lines, %.1f MB in %.2f s, %.1f MB/s%n", input, result.getLines(),
+					result.getBytes() / 1048576.0, result.getNanos() / 1e9, result.getMegabytesPerSecond());
+			System.out.printf("Rejected lines: %d no input, %d invalid integer format, %d out of range%n",
+					result.getErrorCount(1), result.getErrorCount(2), result.getErrorCount(3));
+			System.out.printf("Numerals written to %s, error report to %s%n", output, errors);
+		} catch (IOException ex) {
+			log.error("Conversion of {} failed", input, ex);
+			exitCode = 1;
+		}
+	}
+
+	@Override
+	public int getExitCode() {
+		return exitCode;
+	}
+
+	/**
+	* isRequested checks if the environment starts the file conversion mode.
+	*/
+	public static boolean isRequested(Environment environment) {
+		return environment.containsProperty(INPUT_PROPERTY);
+	}
+}
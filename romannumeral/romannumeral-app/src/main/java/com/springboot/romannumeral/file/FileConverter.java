@@ -0,0 +1,340 @@
+package com.springboot.romannumeral.file;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+
+import com.springboot.romannumeral.core.RomanNumeralConverter;
+import com.springboot.romannumeral.core.ValidationResult;
+import com.springboot.romannumeral.core.VinculumConverter;
+import com.springboot.romannumeral.service.RomanNumeralService;
+
+/**
+* FileConverter converts a text or CSV file holding one integer per line, or
+* per line in a chosen column, into a file holding the Roman numeral of every
+* line, line for line. The input is memory-mapped and split into chunks which
+* end at a line break; the chunks are converted in parallel and written in
+* order, at most two chunks per thread being kept in memory.
+* The values are validated by RomanNumeralService: a line which is not valid
+* gives an empty output line and a record "line,errorCode,input" in the error
+* report, with the error codes of ErrorDetails.
+* Fields are split on the delimiter without CSV quoting rules, except that one
+* pair of surrounding double quotes is removed.
+* @author  Yan Zhou
+* @version 1.0
+* @since   2021-02-15
+*/
+public class FileConverter {
+
+	// Longest field which is validated, longer fields are rejected as invalid integer format
+	// unless they only contain white spaces.
+	static final int MAX_FIELD_LENGTH = 64;
+
+	// Highest validation error code of ErrorDetails.
+	private static final int MAX_ERROR_CODE = 3;
+
+	// Bytes read at a time when looking for the end of a chunk.
+	private static final int SCAN_BUFFER_SIZE = 8192;
+
+	private final RomanNumeralService romanNumeralService;
+	// Column of the values, counted from 1; 0 for the whole line.
+	private final int column;
+	private final byte delimiter;
+	private final int threads;
+	private final int chunkSize;
+
+	/**
+	* Constructor for FileConverter.
+	* @param romanNumeralService provides the validation rules and the supported range.
+	* @param column: column of the values counted from 1, or 0 for the whole line.
+	* @param delimiter: ASCII column delimiter.
+	* @param threads: number of chunks converted in parallel.
+	* @param chunkSize: size in bytes of the chunks, rounded up to the next line break.
+	*/
+	public FileConverter(RomanNumeralService romanNumeralService, int column, char delimiter, int threads, int chunkSize) {
+
+		if (column < 0 || delimiter > 127 || threads < 1 || chunkSize < 1) {
+			throw new IllegalArgumentException("column must not be negative, the delimiter ASCII, threads and chunk size positive.");
+		}
+		this.romanNumeralService = romanNumeralService;
+		this.column = column;
+		this.delimiter = (byte) delimiter;
+		this.threads = threads;
+		this.chunkSize = chunkSize;
+	}
+
+	/**
+	* Summary of a conversion.
+	*/
+	public static final class Result {
+
+		private final long bytes;
+		private final long lines;
+		private final long[] errors;
+		private final long nanos;
+
+		private Result(long bytes, long lines, long[] errors, long nanos) {
+			this.bytes = bytes;
+			this.lines = lines;
+			this.errors = errors;
+			this.nanos = nanos;
+		}
+
+		/**
+		* getter for the size of the input in bytes.
+		*/
+		public long getBytes() {
+			return bytes;
+		}
+
+		/**
+		* getter for the number of lines.
+		*/
+		public long getLines() {
+			return lines;
+		}
+
+		/**
+		* getErrorCount returns the number of lines rejected with errorCode.
+		* @param errorCode: error code 1 to 3 of ErrorDetails.
+		*/
+		public long getErrorCount(int errorCode) {
+			return errors[errorCode];
+		}
+
+		/**
+		* getter for the elapsed time in nanoseconds.
+		*/
+		public long getNanos() {
+			return nanos;
+		}
+
+		/**
+		* getter for the throughput in MB (2^20 bytes) of input per second.
+		*/
+		public double getMegabytesPerSecond() {
+			return nanos == 0 ? 0 : bytes / 1048576.0 / (nanos / 1e9);
+		}
+	}
+
+	/**
+	* convert converts input into output and writes the error report into errors.
+	* @param input: file to convert.
+	* @param output: Roman numeral of every line of input, or an empty line.
+	* @param errors: one record per rejected line.
+	*/
+	public Result convert(Path input, Path output, Path errors) throws IOException {
+
+		long start = System.nanoTime();
+		long lines = 0;
+		long[] errorCounts = new long[MAX_ERROR_CODE + 1];
+		ForkJoinPool pool = new ForkJoinPool(threads);
+		ArrayDeque<CompletableFuture<Chunk>> pending = new ArrayDeque<>(2 * threads);
+		try (FileChannel in = FileChannel.open(input, StandardOpenOption.READ);
+				FileChannel out = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+						StandardOpenOption.WRITE);
+				Writer report = Files.newBufferedWriter(errors, StandardCharsets.UTF_8)) {
+
+			report.write("line,errorCode,input\n");
+			long size = in.size();
+			long next = 0;
+			while (next < size || !pending.isEmpty()) {
+				while (next < size && pending.size() < 2 * threads) {
+					long from = next;
+					long to = chunkEnd(in, from, size);
+					pending.add(CompletableFuture.supplyAsync(() -> convertChunk(in, from, to), pool));
+					next = to;
+				}
+				Chunk chunk = pending.poll().get();
+				ByteBuffer bytes = ByteBuffer.wrap(chunk.output, 0, chunk.outputLength);
+				while (bytes.hasRemaining()) {
+					out.write(bytes);
+				}
+				for (ErrorLine error : chunk.errors) {
+					errorCounts[error.errorCode]++;
+					report.write(Long.toString(lines + error.line + 1));
+					report.write(',');
+					report.write(Integer.toString(error.errorCode));
+					report.write(",\"");
+					report.write(error.input.replace("\"", "\"\""));
+					report.write("\"\n");
+				}
+				lines += chunk.lines;
+			}
+			return new Result(size, lines, errorCounts, System.nanoTime() - start);
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new IOException("File conversion was interrupted.", ex);
+		} catch (ExecutionException ex) {
+			Throwable cause = ex.getCause() instanceof UncheckedIOException ? ex.getCause().getCause() : ex.getCause();
+			throw cause instanceof IOException ? (IOException) cause : new IOException("File conversion failed.", cause);
+		} finally {
+			for (CompletableFuture<Chunk> future : pending) {
+				future.cancel(false);
+			}
+			pool.shutdownNow();
+		}
+	}
+
+	// Position after the first line break at or after from + chunkSize - 1, or size.
+	private long chunkEnd(FileChannel in, long from, long size) throws IOException {
+
+		long position = from + chunkSize - 1;
+		ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+		while (position < size) {
+			buffer.clear();
+			int read = in.read(buffer, position);
+			for (int i = 0; i < read; i++) {
+				if (buffer.get(i) == '\n') {
+					return position + i + 1;
+				}
+			}
+			position += Math.max(read, 0);
+		}
+		return size;
+	}
+
+	private Chunk convertChunk(FileChannel in, long from, long to) {
+
+		MappedByteBuffer map;
+		try {
+			map = in.map(FileChannel.MapMode.READ_ONLY, from, to - from);
+		} catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+		int length = (int) (to - from);
+		Chunk chunk = new Chunk(length);
+		char[] field = new char[MAX_FIELD_LENGTH];
+		CharBuffer fieldSequence = CharBuffer.wrap(field);
+		int lineStart = 0;
+		while (lineStart < length) {
+			int lineEnd = lineStart;
+			while (lineEnd < length && map.get(lineEnd) != '\n') {
+				lineEnd++;
+			}
+			convertLine(map, lineStart, lineEnd, chunk, field, fieldSequence);
+			lineStart = lineEnd + 1;
+		}
+		return chunk;
+	}
+
+	private void convertLine(MappedByteBuffer map, int lineStart, int lineEnd, Chunk chunk, char[] field, CharBuffer fieldSequence) {
+
+		if (lineEnd > lineStart && map.get(lineEnd - 1) == '\r') {
+			lineEnd--;
+		}
+		int fieldStart = lineStart;
+		int fieldEnd = lineEnd;
+		if (column > 0) {
+			int current = 1;
+			fieldStart = lineStart;
+			while (current < column && fieldStart < lineEnd) {
+				if (map.get(fieldStart++) == delimiter) {
+					current++;
+				}
+			}
+			if (current < column) {
+				fieldStart = lineEnd;
+			}
+			fieldEnd = fieldStart;
+			while (fieldEnd < lineEnd && map.get(fieldEnd) != delimiter) {
+				fieldEnd++;
+			}
+		}
+		if (fieldEnd - fieldStart >= 2 && map.get(fieldStart) == '"' && map.get(fieldEnd - 1) == '"') {
+			fieldStart++;
+			fieldEnd--;
+		}
+
+		ValidationResult result;
+		int fieldLength = Math.min(fieldEnd - fieldStart, MAX_FIELD_LENGTH);
+		for (int i = 0; i < fieldLength; i++) {
+			field[i] = (char) (map.get(fieldStart + i) & 0xFF);
+		}
+		if (fieldEnd - fieldStart > MAX_FIELD_LENGTH) {
+			// Too long for an integer, but a field of white spaces is still no input.
+			result = isBlank(map, fieldStart, fieldEnd) ? ValidationResult.NO_INPUT : ValidationResult.INVALID_FORMAT;
+		} else {
+			fieldSequence.limit(fieldLength);
+			result = romanNumeralService.validateQuery(fieldSequence);
+		}
+
+		if (result.isValid()) {
+			long value = result.getValue();
+			chunk.append(value <= RomanNumeralConverter.MAX_VALUE
+					? RomanNumeralConverter.toAsciiBytes((int) value)
+					: VinculumConverter.toRoman(value).getBytes(StandardCharsets.UTF_8));
+		} else {
+			chunk.errors.add(new ErrorLine(chunk.lines, result.getErrorCode(), new String(field, 0, fieldLength)));
+			chunk.append(null);
+		}
+	}
+
+	// Same rule as QueryValidator.isBlank, on the bytes in [start, end) of map.
+	private static boolean isBlank(MappedByteBuffer map, int start, int end) {
+		for (int i = start; i < end; i++) {
+			if ((map.get(i) & 0xFF) > ' ') {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	// Output of one chunk.
+	private static final class Chunk {
+
+		private byte[] output;
+		private int outputLength;
+		private int lines;
+		private final List<ErrorLine> errors = new ArrayList<>();
+
+		private Chunk(int inputLength) {
+			// A numeral is about twice as long as its integer, but CSV lines hold other columns too.
+			this.output = new byte[inputLength + inputLength / 2 + 16];
+		}
+
+		// Appends numeral, or an empty line when numeral is null.
+		private void append(byte[] numeral) {
+			int numeralLength = numeral == null ? 0 : numeral.length;
+			int required = outputLength + numeralLength + 1;
+			if (required > output.length) {
+				output = Arrays.copyOf(output, (int) Math.min(Integer.MAX_VALUE - 8, Math.max(2L * output.length, required)));
+			}
+			if (numeral != null) {
+				System.arraycopy(numeral, 0, output, outputLength, numeralLength);
+			}
+			outputLength += numeralLength;
+			output[outputLength++] = '\n';
+			lines++;
+		}
+	}
+
+	// A rejected line, numbered from 0 within its chunk.
+	private static final class ErrorLine {
+
+		private final int line;
+		private final int errorCode;
+		private final String input;
+
+		private ErrorLine(int line, int errorCode, String input) {
+			this.line = line;
+			this.errorCode = errorCode;
+			this.input = input;
+		}
+	}
+}
@@ -0,0 +1,130 @@
+package com.springboot.romannumeral.limit;
+
+import java.io.IOException;
+import java.util.Date;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.springboot.romannumeral.exception.ErrorDetails;
+import com.springboot.romannumeral.exception.ErrorResponses;
+import com.springboot.romannumeral.service.RomanNumeralMetrics;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+* ConcurrencyLimitFilter sheds the conversion requests in excess of a
+* GradientConcurrencyLimit. A rejected request is answered at once with 503,
+* a Retry-After header and an ErrorDetails of error code 4, instead of waiting
+* in Tomcat for a thread while the latency of every request grows.
+* The filter is registered for the conversion end points only (see
+* ConcurrencyLimitConfiguration), so the actuator end points are never shed.
+* Range requests (GET /romannumeral with both min and max) are streamed for as
+* long as the client reads them, so they are not limited and their duration is
+* not taken as a latency sample. Any other request carrying min or max is.
+* The requests kept out of the metrics (the warm-up requests of WarmUpRunner,
+* see RomanNumeralMetrics.setRecording) are not limited or sampled either.
+* Metrics:
+* 	romannumeral.limit: current concurrency limit.
+* 	romannumeral.limit.inflight: number of conversion requests in flight.
+* 	romanNumeralService.errors{code="4"}: number of rejected requests.
+* @author  Yan Zhou
+* @version 1.0
+* @since   2021-02-15
+*/
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+	// Error code of ErrorDetails for a request rejected by the limit.
+	public static final int OVERLOADED = 4;
+
+	// Path of the range end point, mapped to GET requests with both min and max.
+	private static final String RANGE_PATH = "/romannumeral";
+
+	private final GradientConcurrencyLimit limit;
+	private final RomanNumeralMetrics metrics;
+	private final ObjectMapper objectMapper;
+
+	// Value of the Retry-After header, in seconds.
+	private final String retryAfter;
+	private final String message;
+	private final String cacheControl = CacheControl.noStore().getHeaderValue();
+
+	/**
+	* Constructor for ConcurrencyLimitFilter.
+	* @param limit: concurrency limit of the conversion requests.
+	* @param metrics: counts the rejected requests.
+	* @param objectMapper: serializes the ErrorDetails of the rejected requests.
+	* @param retryAfterSeconds: value of the Retry-After header.
+	* @param meterRegistry: registry the limit gauges are registered into.
+	*/
+	public ConcurrencyLimitFilter(GradientConcurrencyLimit limit, RomanNumeralMetrics metrics, ObjectMapper objectMapper,
+			long retryAfterSeconds, MeterRegistry meterRegistry) {
+
+		this.limit = limit;
+		this.metrics = metrics;
+		this.objectMapper = objectMapper;
+		this.retryAfter = Long.toString(retryAfterSeconds);
+		this.message = "The service is overloaded. Please retry after " + retryAfterSeconds + " second(s).";
+		Gauge.builder("romannumeral.limit", limit, GradientConcurrencyLimit::getLimit)
+				.description("The current concurrency limit of the conversion requests")
+				.register(meterRegistry);
+		Gauge.builder("romannumeral.limit.inflight", limit, GradientConcurrencyLimit::getInflight)
+				.description("The number of conversion requests in flight")
+				.register(meterRegistry);
+	}
+
+	// Only the range end point and the unrecorded requests are exempt, see RomanNumeralController.range.
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		if (!metrics.isRecording()) {
+			return true;
+		}
+		return RANGE_PATH.equals(request.getServletPath()) && request.getParameter("min") != null
+				&& request.getParameter("max") != null;
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+
+		if (!limit.tryAcquire()) {
+			reject(request, response);
+			return;
+		}
+		long start = System.nanoTime();
+		boolean completed = false;
+		try {
+			filterChain.doFilter(request, response);
+			completed = true;
+		} finally {
+			if (completed) {
+				limit.release(System.nanoTime() - start);
+			} else {
+				limit.releaseWithoutSample();
+			}
+		}
+	}
+
+	private void reject(HttpServletRequest request, HttpServletResponse response) throws IOException {
+
+		metrics.error(OVERLOADED);
+		// No handler is reached, so name the end point for the uri tag of http_server_requests.
+		request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, request.getServletPath());
+		ErrorDetails errorDetails = new ErrorDetails(new Date(), OVERLOADED, message, "uri=" + request.getRequestURI());
+		response.setStatus(ErrorResponses.statusOf(OVERLOADED).value());
+		response.setHeader(HttpHeaders.RETRY_AFTER, retryAfter);
+		response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+		response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+		objectMapper.writeValue(response.getOutputStream(), errorDetails);
+	}
+}
@@ -0,0 +1,167 @@
+package com.springboot.romannumeral.limit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+* GradientConcurrencyLimit is a concurrency limit which adapts to the observed
+* latency, in the manner of the gradient limits of TCP congestion control.
+* The latency of the requests is averaged over short windows and compared with
+* a long term average: while the short term latency stays within tolerance of
+* the long term one, the limit grows by a small queue allowance; when requests
+* start to wait for each other, the short term latency rises and the limit
+* shrinks in proportion (at most by half per window). The limit is smoothed and
+* kept within [min, max]. It is not changed while fewer than half of the permits
+* are used, since the latency then says nothing about the capacity.
+* Acquiring and releasing a permit is lock free; the limit is recomputed by the
+* first request which completes after the end of a window.
+* @author  Yan Zhou
+* @version 1.0
+* @since   2021-02-15
+*/
+public class GradientConcurrencyLimit {
+
+	// Lowest gradient applied in one window: the limit at most halves.
+	private static final double MIN_GRADIENT = 0.5;
+
+	// Number of windows averaged by the long term latency.
+	private static final int LONG_WINDOWS = 100;
+
+	// Requests needed in a window to update the limit.
+	private static final int MIN_WINDOW_SAMPLES = 10;
+
+	private final int minLimit;
+	private final int maxLimit;
+	private final double tolerance;
+	private final double smoothing;
+	private final long windowNanos;
+
+	private final AtomicInteger inflight = new AtomicInteger();
+
+	// Current limit; estimatedLimit keeps the fractional part between windows.
+	private volatile int limit;
+	private double estimatedLimit;
+
+	// Long term average latency in nanoseconds, 0 until the first window.
+	private double longRtt;
+
+	// Samples of the current window.
+	private final LongAdder windowRttSum = new LongAdder();
+	private final LongAdder windowSamples = new LongAdder();
+	private final AtomicInteger windowMaxInflight = new AtomicInteger();
+	private final AtomicLong windowEnd;
+
+	/**
+	* Constructor for GradientConcurrencyLimit.
+	* @param initialLimit: limit until the first window.
+	* @param minLimit: lowest limit, at least 1.
+	* @param maxLimit: highest limit.
+	* @param tolerance: ratio of the short term to the long term latency accepted without shrinking the limit, at least 1.
+	* @param smoothing: weight in (0,1] of a new limit against the previous one.
+	* @param windowNanos: duration of a window.
+	*/
+	public GradientConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double tolerance, double smoothing, long windowNanos) {
+
+		if (minLimit < 1 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+			throw new IllegalArgumentException(String.format(
+					"Invalid concurrency limit %d in [%d, %d]: min must be at least 1 and the limit within [min, max].",
+					initialLimit, minLimit, maxLimit));
+		}
+		if (tolerance < 1 || smoothing <= 0 || smoothing > 1 || windowNanos <= 0) {
+			throw new IllegalArgumentException("tolerance must be at least 1, smoothing in (0,1] and the window positive.");
+		}
+		this.minLimit = minLimit;
+		this.maxLimit = maxLimit;
+		this.tolerance = tolerance;
+		this.smoothing = smoothing;
+		this.windowNanos = windowNanos;
+		this.limit = initialLimit;
+		this.estimatedLimit = initialLimit;
+		this.windowEnd = new AtomicLong(System.nanoTime() + windowNanos);
+	}
+
+	/**
+	* tryAcquire takes a permit when fewer requests than the limit are in flight.
+	* @return false when the request must be rejected.
+	*/
+	public boolean tryAcquire() {
+		while (true) {
+			int current = inflight.get();
+			if (current >= limit) {
+				return false;
+			}
+			if (inflight.compareAndSet(current, current + 1)) {
+				windowMaxInflight.accumulateAndGet(current + 1, Math::max);
+				return true;
+			}
+		}
+	}
+
+	/**
+	* release gives back the permit of a completed request and records its latency.
+	* @param rttNanos: latency of the request.
+	*/
+	public void release(long rttNanos) {
+		inflight.decrementAndGet();
+		windowRttSum.add(rttNanos);
+		windowSamples.increment();
+		long now = System.nanoTime();
+		long end = windowEnd.get();
+		if (now - end >= 0 && windowEnd.compareAndSet(end, now + windowNanos)) {
+			update();
+		}
+	}
+
+	/**
+	* releaseWithoutSample gives back the permit of a request which failed, without recording its latency.
+	*/
+	public void releaseWithoutSample() {
+		inflight.decrementAndGet();
+	}
+
+	// Only called by the request which closed the window.
+	private synchronized void update() {
+
+		long samples = windowSamples.sumThenReset();
+		long rttSum = windowRttSum.sumThenReset();
+		int maxInflight = windowMaxInflight.getAndSet(inflight.get());
+		if (samples < MIN_WINDOW_SAMPLES) {
+			return;
+		}
+		double shortRtt = (double) rttSum / samples;
+		if (longRtt == 0) {
+			longRtt = shortRtt;
+		} else {
+			longRtt += (shortRtt - longRtt) / LONG_WINDOWS;
+		}
+		// After a long overload the long term average is too high to shrink the limit: let it catch up.
+		if (longRtt > 2 * shortRtt) {
+			longRtt *= 0.95;
+		}
+		if (maxInflight < estimatedLimit / 2) {
+			return;
+		}
+
+		double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, tolerance * longRtt / shortRtt));
+		double queueAllowance = Math.sqrt(estimatedLimit);
+		double newLimit = estimatedLimit * gradient + queueAllowance;
+		newLimit = estimatedLimit * (1 - smoothing) + newLimit * smoothing;
+		estimatedLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+		limit = (int) estimatedLimit;
+	}
+
+	/**
+	* getter for the current limit.
+	*/
+	public int getLimit() {
+		return limit;
+	}
+
+	/**
+	* getter for the number of requests in flight.
+	*/
+	public int getInflight() {
+		return inflight.get();
+	}
+}
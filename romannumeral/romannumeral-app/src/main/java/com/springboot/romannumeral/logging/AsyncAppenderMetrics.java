@@ -0,0 +1,59 @@
+package com.springboot.romannumeral.logging;
+
+import java.util.Iterator;
+
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+* AsyncAppenderMetrics exports the dropped events and the queue usage of
+* every CountingAsyncAppender configured in logback-spring.xml.
+* Metrics:
+* 	logback.async.dropped: number of events dropped by the appender.
+* 	logback.async.queue.size: number of events waiting in the queue.
+* @author  Yan Zhou
+* @version 1.0
+* @since   2021-02-15
+*/
+@Component
+public class AsyncAppenderMetrics implements MeterBinder {
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+
+		if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext)) {
+			return;
+		}
+		LoggerContext loggerContext = (LoggerContext) LoggerFactory.getILoggerFactory();
+		for (Logger logger : loggerContext.getLoggerList()) {
+			Iterator<Appender<ILoggingEvent>> appenders = logger.iteratorForAppenders();
+			while (appenders.hasNext()) {
+				Appender<ILoggingEvent> appender = appenders.next();
+				if (appender instanceof CountingAsyncAppender) {
+					bindAppender(registry, (CountingAsyncAppender) appender);
+				}
+			}
+		}
+	}
+
+	private void bindAppender(MeterRegistry registry, CountingAsyncAppender appender) {
+
+		FunctionCounter.builder("logback.async.dropped", appender, CountingAsyncAppender::getDroppedEvents)
+				.description("The number of log events dropped by the async appender")
+				.tag("appender", appender.getName())
+				.register(registry);
+		Gauge.builder("logback.async.queue.size", appender, CountingAsyncAppender::getNumberOfElementsInQueue)
+				.description("The number of log events waiting in the queue of the async appender")
+				.tag("appender", appender.getName())
+				.register(registry);
+	}
+}
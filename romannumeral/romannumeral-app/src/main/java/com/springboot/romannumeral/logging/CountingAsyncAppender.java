@@ -0,0 +1,41 @@
+package com.springboot.romannumeral.logging;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+/**
+* CountingAsyncAppender is a logback AsyncAppender which counts the events
+* it drops, so they can be exported as metrics by AsyncAppenderMetrics.
+* Events are dropped when they are discardable (INFO and below) and the
+* queue is above its discarding threshold, or, with neverBlock, when the
+* queue is full. The count is taken right before the event is queued, so
+* it is an approximation under concurrent logging.
+* @author  Yan Zhou
+* @version 1.0
+* @since   2021-02-15
+*/
+public class CountingAsyncAppender extends AsyncAppender {
+
+	private final LongAdder droppedEvents = new LongAdder();
+
+	@Override
+	protected void append(ILoggingEvent eventObject) {
+		if (isStarted()) {
+			int remainingCapacity = getRemainingCapacity();
+			if ((remainingCapacity < getDiscardingThreshold() && isDiscardable(eventObject))
+					|| (isNeverBlock() && remainingCapacity == 0)) {
+				droppedEvents.increment();
+			}
+		}
+		super.append(eventObject);
+	}
+
+	/**
+	* getter for the number of dropped events since the appender was created.
+	*/
+	public long getDroppedEvents() {
+		return droppedEvents.sum();
+	}
+}
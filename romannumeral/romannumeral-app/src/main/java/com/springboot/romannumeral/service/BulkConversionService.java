@@ -0,0 +1,339 @@
+package com.springboot.romannumeral.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.springboot.romannumeral.core.QueryValidator;
+import com.springboot.romannumeral.core.RomanNumeralConverter;
+import com.springboot.romannumeral.core.ValidationResult;
+import com.springboot.romannumeral.core.VinculumConverter;
+import com.springboot.romannumeral.exception.ErrorDetails;
+import com.springboot.romannumeral.exception.ErrorResponses;
+
+/**
+* BulkConversionService converts a newline-delimited stream of queries into
+* a newline-delimited stream of JSON records, one record per line: either a
+* RomanNumeral or the ErrorDetails of the line.
+* The input is read with fixed size buffers, so the memory used does not
+* depend on the size of the body. A bad line does not abort the stream.
+* It also streams the records of every integer in a range [min, max].
+* @author  Yan Zhou
+* @version 1.0
+* @since   2021-02-15
+*/
+@Service
+public class BulkConversionService {
+
+	// Logger instance for the service to write logs into console and log file.
+	private Logger log = LoggerFactory.getLogger(BulkConversionService.class);
+
+	// Longest line which is validated, longer lines are rejected as invalid integer format
+	// unless they only contain white spaces.
+	static final int MAX_LINE_LENGTH = 64;
+
+	// Size of the buffer used to read the body.
+	private static final int READ_BUFFER_SIZE = 8192;
+
+	// Number of integers encoded together when a range is converted.
+	private static final int RANGE_BLOCK_SIZE = 512;
+
+	// Ranges with more integers than this are encoded in parallel.
+	private static final int PARALLEL_RANGE_THRESHOLD = 4 * RANGE_BLOCK_SIZE;
+
+	// Fixed parts of a RomanNumeral record: {"input":"N","output":"numeral"}
+	private static final byte[] RECORD_INPUT = "{\"input\":\"".getBytes(StandardCharsets.US_ASCII);
+	private static final byte[] RECORD_OUTPUT = "\",\"output\":\"".getBytes(StandardCharsets.US_ASCII);
+	private static final byte[] RECORD_END = "\"}\n".getBytes(StandardCharsets.US_ASCII);
+	private static final int RECORD_OVERHEAD = RECORD_INPUT.length + RECORD_OUTPUT.length + RECORD_END.length;
+
+	private final RomanNumeralService romanNumeralService;
+
+	// Writer for ErrorDetails records, flushing is done once per read buffer instead.
+	private final ObjectWriter errorWriter;
+
+	private final ObjectMapper objectMapper;
+
+	// Shared error responses of '/romannumeral/bulk' for error code 1 to 3.
+	private final ErrorResponses errorResponses;
+
+	// Shared error responses of '/romannumeral?min=&max=' for error code 1 to 3.
+	private final ErrorResponses rangeErrorResponses;
+
+	/**
+	* Constructor for BulkConversionService.
+	* @param romanNumeralService provides the validation rules.
+	* @param objectMapper is used to write the JSON records.
+	*/
+	public BulkConversionService(RomanNumeralService romanNumeralService, ObjectMapper objectMapper) {
+
+		this.romanNumeralService = romanNumeralService;
+		this.objectMapper = objectMapper;
+		this.errorWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+		ErrorResponses queryErrors = romanNumeralService.getErrorResponses();
+		this.errorResponses = new ErrorResponses("uri=/romannumeral/bulk", new String[] {
+				null,
+				queryErrors.getMessage(1),
+				queryErrors.getMessage(2),
+				queryErrors.getMessage(3) });
+		String rangeHint = String.format(" Please give min and max integer values between %d and %d, min not greater than max."
+				+ " Example: /romannumeral?min=1&max=100", romanNumeralService.getRangeMin(), romanNumeralService.getRangeMax());
+		this.rangeErrorResponses = new ErrorResponses("uri=/romannumeral", new String[] {
+				null,
+				"Input min or max value is missing or only contains whitespace." + rangeHint,
+				"Input min or max value does not have correct integer format." + rangeHint,
+				"Input range is out of supported range." + rangeHint }, queryErrors.getCacheControl());
+	}
+
+	/**
+	* rangeError checks the validation results of range parameters min and max.
+	* Returns the shared ErrorDetails response of the first error, or null when
+	* [min, max] is a valid range.
+	* @param min : validation result of request parameter min.
+	* @param max : validation result of request parameter max.
+	*/
+	public ResponseEntity<ErrorDetails> rangeError(ValidationResult min, ValidationResult max) {
+
+		ValidationResult error = !min.isValid() ? min : max;
+		if (error.isValid() && min.getValue() > max.getValue()) {
+			error = ValidationResult.OUT_OF_RANGE;
+		}
+		romanNumeralService.record(error);
+		if (error.isValid()) {
+			return null;
+		}
+		return rangeErrorResponses.get(error.getErrorCode());
+	}
+
+	/**
+	* writeError writes errorDetails as a single JSON document into out.
+	* @param errorDetails : the error to write.
+	* @param out : output of the response.
+	*/
+	public void writeError(ErrorDetails errorDetails, OutputStream out) throws IOException {
+
+		JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+		generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+		errorWriter.writeValue(generator, errorDetails);
+		generator.flush();
+	}
+
+	/**
+	* convertRange writes the RomanNumeral record of every integer in [min, max] into
+	* out, one per line and in ascending order. Large ranges are encoded in blocks by
+	* the common ForkJoinPool; at most two blocks per worker are kept in memory while
+	* they wait to be written.
+	* @param min : first integer, validated by rangeError.
+	* @param max : last integer, validated by rangeError.
+	* @param out : newline-delimited JSON records.
+	*/
+	public void convertRange(long min, long max, OutputStream out) throws IOException {
+
+		if (log.isTraceEnabled()) {
+			log.trace("convertRange starts: min:[{}], max:[{}]", min, max);
+		}
+
+		if (max - min < PARALLEL_RANGE_THRESHOLD) {
+			for (long from = min; ; from += RANGE_BLOCK_SIZE) {
+				long to = blockEnd(from, max);
+				out.write(encodeRange(from, to));
+				if (to == max) {
+					break;
+				}
+			}
+			out.flush();
+			return;
+		}
+
+		ForkJoinPool pool = ForkJoinPool.commonPool();
+		int window = 2 * pool.getParallelism();
+		ArrayDeque<CompletableFuture<byte[]>> pending = new ArrayDeque<>(window);
+		long next = min;
+		boolean submittedAll = false;
+		try {
+			while (!submittedAll || !pending.isEmpty()) {
+				while (!submittedAll && pending.size() < window) {
+					long from = next;
+					long to = blockEnd(from, max);
+					pending.add(CompletableFuture.supplyAsync(() -> encodeRange(from, to), pool));
+					submittedAll = to == max;
+					next = to + 1;
+				}
+				out.write(pending.poll().get());
+			}
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Range conversion was interrupted.", ex);
+		} catch (ExecutionException ex) {
+			throw new IOException("Range conversion failed.", ex.getCause());
+		} finally {
+			for (CompletableFuture<byte[]> future : pending) {
+				future.cancel(false);
+			}
+		}
+		out.flush();
+
+		if (log.isTraceEnabled()) {
+			log.trace("convertRange ends: min:[{}], max:[{}]", min, max);
+		}
+	}
+
+	// Last integer of the block starting at from, without overflowing at Long.MAX_VALUE.
+	private static long blockEnd(long from, long max) {
+		return max - from < RANGE_BLOCK_SIZE ? max : from + RANGE_BLOCK_SIZE - 1;
+	}
+
+	/**
+	* encodeRange encodes the RomanNumeral records of [from, to] as UTF-8 JSON lines.
+	* The records are byte for byte the ones written by Jackson for RomanNumeral.
+	*/
+	static byte[] encodeRange(long from, long to) {
+
+		byte[] bytes = new byte[(int) (to - from + 1) * (RECORD_OVERHEAD + 4 + RomanNumeralConverter.MAX_LENGTH)];
+		int position = 0;
+		for (long n = from; ; n++) {
+			byte[] numeral = n <= RomanNumeralConverter.MAX_VALUE
+					? RomanNumeralConverter.toAsciiBytes((int) n)
+					: VinculumConverter.toRoman(n).getBytes(StandardCharsets.UTF_8);
+			int length = decimalLength(n);
+			int required = position + RECORD_OVERHEAD + length + numeral.length;
+			if (required > bytes.length) {
+				bytes = Arrays.copyOf(bytes, Math.max(2 * bytes.length, required));
+			}
+			position = copy(RECORD_INPUT, bytes, position);
+			long value = n;
+			for (int i = position + length - 1; i >= position; i--, value /= 10) {
+				bytes[i] = (byte) ('0' + value % 10);
+			}
+			position += length;
+			position = copy(RECORD_OUTPUT, bytes, position);
+			position = copy(numeral, bytes, position);
+			position = copy(RECORD_END, bytes, position);
+			if (n == to) {
+				break;
+			}
+		}
+		return position == bytes.length ? bytes : Arrays.copyOf(bytes, position);
+	}
+
+	private static int copy(byte[] source, byte[] target, int position) {
+		System.arraycopy(source, 0, target, position, source.length);
+		return position + source.length;
+	}
+
+	private static int decimalLength(long n) {
+		int length = 1;
+		while (n >= 10) {
+			n /= 10;
+			length++;
+		}
+		return length;
+	}
+
+	/**
+	* convert reads queries from in, one per line, and writes one JSON record per
+	* line into out. The output is flushed after every read buffer, so that records
+	* are sent to the client while the body is still being read.
+	* @param in : newline-delimited queries. A trailing '\r' is ignored.
+	* @param out : newline-delimited JSON records.
+	* @return number of lines converted.
+	*/
+	public long convert(InputStream in, OutputStream out) throws IOException {
+
+		log.trace("convert starts");
+
+		byte[] readBuffer = new byte[READ_BUFFER_SIZE];
+		char[] line = new char[MAX_LINE_LENGTH];
+		CharBuffer lineSequence = CharBuffer.wrap(line);
+		int lineLength = 0;
+		boolean lineTooLong = false;
+		// Whether the bytes dropped from a line longer than MAX_LINE_LENGTH are all white spaces.
+		boolean overflowBlank = true;
+		long lines = 0;
+
+		JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+		generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+		generator.setRootValueSeparator(null);
+
+		int read;
+		while ((read = in.read(readBuffer)) != -1) {
+			for (int i = 0; i < read; i++) {
+				byte b = readBuffer[i];
+				if (b == '\n') {
+					writeRecord(generator, line, lineSequence, lineLength, lineTooLong, overflowBlank);
+					lines++;
+					lineLength = 0;
+					lineTooLong = false;
+					overflowBlank = true;
+				} else if (lineLength < MAX_LINE_LENGTH) {
+					line[lineLength++] = (char) (b & 0xFF);
+				} else {
+					lineTooLong = true;
+					overflowBlank &= (b & 0xFF) <= ' ';
+				}
+			}
+			generator.flush();
+		}
+
+		// The last line is not terminated by a newline.
+		if (lineLength > 0 || lineTooLong) {
+			writeRecord(generator, line, lineSequence, lineLength, lineTooLong, overflowBlank);
+			lines++;
+		}
+		generator.flush();
+
+		if (log.isTraceEnabled()) {
+			log.trace("convert ends: lines:[{}]", lines);
+		}
+		return lines;
+	}
+
+	/**
+	* writeRecord validates one line and writes its RomanNumeral or ErrorDetails record.
+	*/
+	private void writeRecord(JsonGenerator generator, char[] line, CharBuffer lineSequence,
+			int lineLength, boolean lineTooLong, boolean overflowBlank) throws IOException {
+
+		if (lineLength > 0 && line[lineLength - 1] == '\r') {
+			lineLength--;
+		}
+
+		ValidationResult result;
+		lineSequence.limit(lineLength);
+		if (lineTooLong) {
+			// Too long for an integer, but a line of white spaces is still no input.
+			result = overflowBlank && QueryValidator.isBlank(lineSequence, 0, lineLength)
+					? ValidationResult.NO_INPUT : ValidationResult.INVALID_FORMAT;
+		} else {
+			result = romanNumeralService.validateQuery(lineSequence);
+		}
+		romanNumeralService.record(lineSequence, result);
+
+		if (result.isValid()) {
+			generator.writeStartObject();
+			generator.writeFieldName("input");
+			generator.writeString(line, 0, lineLength);
+			generator.writeStringField("output", romanNumeralService.toRoman(result.getValue()));
+			generator.writeEndObject();
+		} else {
+			errorWriter.writeValue(generator, errorResponses.get(result.getErrorCode()).getBody());
+		}
+		generator.writeRaw('\n');
+	}
+}
@@ -0,0 +1,180 @@
+package com.springboot.romannumeral.service;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+* RomanNumeralMetrics keeps the custom metrics of RomanNumeralService.
+* The counters are backed by LongAdder, so concurrent requests increment
+* separate cells instead of a single contended value; the sums are only
+* computed when the metrics are scraped.
+* Metrics:
+* 	romanNumeralService.total.request: number of queries received.
+* 	romanNumeralService.error.request: number of queries rejected by the validation.
+* 	romanNumeralService.errors: number of errors per error code 0 to 4 of ErrorDetails.
+* 	romanNumeralService.stage: latency of the validation, conversion and response
+* 	stages, published as a percentile histogram.
+* Requests may be served without being recorded, see setRecording: the
+* warm-up requests of WarmUpRunner are kept out of the metrics this way.
+* @author  Yan Zhou
+* @version 1.0
+* @since   2021-02-15
+*/
+@Component
+public class RomanNumeralMetrics {
+
+	// Highest error code of ErrorDetails.
+	private static final int MAX_ERROR_CODE = 4;
+
+	// Highest validation error code of ErrorDetails.
+	private static final int MAX_VALIDATION_ERROR_CODE = 3;
+
+	private final LongAdder total = new LongAdder();
+
+	// Errors indexed by error code.
+	private final LongAdder[] errors = new LongAdder[MAX_ERROR_CODE + 1];
+
+	// Set on the threads serving a request which is not recorded.
+	private final ThreadLocal<Boolean> unrecorded = new ThreadLocal<>();
+
+	private final Timer validationTimer;
+	private final Timer conversionTimer;
+	private final Timer responseTimer;
+
+	/**
+	* Constructor for RomanNumeralMetrics.
+	* @param meterRegistry: registry the metrics are registered into.
+	*/
+	public RomanNumeralMetrics(MeterRegistry meterRegistry) {
+
+		for (int code = 0; code <= MAX_ERROR_CODE; code++) {
+			errors[code] = new LongAdder();
+			FunctionCounter.builder("romanNumeralService.errors", errors[code], LongAdder::sum)
+					.description("The number of errors of RomanNumeralService per error code")
+					.tag("code", Integer.toString(code))
+					.register(meterRegistry);
+		}
+		FunctionCounter.builder("romanNumeralService.total.request", total, LongAdder::sum)
+				.description("The number of total request to RomanNumeralService")
+				.register(meterRegistry);
+		FunctionCounter.builder("romanNumeralService.error.request", this, RomanNumeralMetrics::validationErrors)
+				.description("The number of error request to RomanNumeralService")
+				.register(meterRegistry);
+		this.validationTimer = stageTimer(meterRegistry, "validation");
+		this.conversionTimer = stageTimer(meterRegistry, "conversion");
+		this.responseTimer = stageTimer(meterRegistry, "response");
+	}
+
+	/**
+	* request counts one received query.
+	*/
+	public void request() {
+		if (isRecording()) {
+			total.increment();
+		}
+	}
+
+	/**
+	* error counts one error.
+	* @param errorCode: error code 0 to 4 of ErrorDetails.
+	*/
+	public void error(int errorCode) {
+		if (isRecording()) {
+			errors[errorCode].increment();
+		}
+	}
+
+	/**
+	* recordValidation records the time spent validating a query.
+	* @param nanos: elapsed time in nanoseconds.
+	*/
+	public void recordValidation(long nanos) {
+		if (isRecording()) {
+			validationTimer.record(nanos, TimeUnit.NANOSECONDS);
+		}
+	}
+
+	/**
+	* recordConversion records the time spent converting a validated query.
+	* @param nanos: elapsed time in nanoseconds.
+	*/
+	public void recordConversion(long nanos) {
+		if (isRecording()) {
+			conversionTimer.record(nanos, TimeUnit.NANOSECONDS);
+		}
+	}
+
+	/**
+	* recordResponse records the time spent building the response.
+	* @param nanos: elapsed time in nanoseconds.
+	*/
+	public void recordResponse(long nanos) {
+		if (isRecording()) {
+			responseTimer.record(nanos, TimeUnit.NANOSECONDS);
+		}
+	}
+
+	/**
+	* setRecording turns the recording of the request served by the current
+	* thread on or off. It is turned off for the duration of a request which is
+	* kept out of the metrics, and back on before the thread serves another one.
+	* @param recording: false to serve the request without recording it.
+	*/
+	public void setRecording(boolean recording) {
+		if (recording) {
+			unrecorded.remove();
+		} else {
+			unrecorded.set(Boolean.TRUE);
+		}
+	}
+
+	/**
+	* isRecording returns false while the current thread serves a request which
+	* is kept out of the metrics, see setRecording.
+	*/
+	public boolean isRecording() {
+		return unrecorded.get() == null;
+	}
+
+	/**
+	* getErrorCount returns the number of errors of errorCode.
+	* @param errorCode: error code 0 to 4 of ErrorDetails.
+	*/
+	public long getErrorCount(int errorCode) {
+		return errors[errorCode].sum();
+	}
+
+	/**
+	* getter for the number of received queries.
+	*/
+	public long getTotalCount() {
+		return total.sum();
+	}
+
+	private double validationErrors() {
+		long sum = 0;
+		for (int code = 1; code <= MAX_VALIDATION_ERROR_CODE; code++) {
+			sum += errors[code].sum();
+		}
+		return sum;
+	}
+
+	// The stages take from a few hundred nanoseconds to a few microseconds, so the
+	// histogram buckets start at 100ns instead of the default 1ms.
+	private static Timer stageTimer(MeterRegistry meterRegistry, String stage) {
+		return Timer.builder("romanNumeralService.stage")
+				.description("The latency of each stage of RomanNumeralService")
+				.tag("stage", stage)
+				.publishPercentileHistogram()
+				.minimumExpectedValue(Duration.ofNanos(100))
+				.maximumExpectedValue(Duration.ofMillis(100))
+				.register(meterRegistry);
+	}
+}
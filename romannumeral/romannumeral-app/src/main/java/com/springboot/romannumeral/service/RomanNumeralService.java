@@ -0,0 +1,530 @@
+package com.springboot.romannumeral.service;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.ResponseEntity.BodyBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.stereotype.Service;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import com.springboot.romannumeral.core.NumeralArrays;
+import com.springboot.romannumeral.core.QueryValidator;
+import com.springboot.romannumeral.core.RomanNumeralConverter;
+import com.springboot.romannumeral.core.RomanNumeralParser;
+import com.springboot.romannumeral.core.ValidationResult;
+import com.springboot.romannumeral.core.VinculumConverter;
+import com.springboot.romannumeral.exception.ErrorResponses;
+import com.springboot.romannumeral.model.RomanNumeral;
+import com.springboot.romannumeral.telemetry.QueryTelemetry;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+* RomanNumeralService contains logics of the service.
+* @author  Yan Zhou
+* @version 1.0
+* @since   2021-02-15 
+*/
+@Service
+@Component
+public class RomanNumeralService {
+
+	// Logger instance for the service to write logs into console and log file.
+	private Logger log = LoggerFactory.getLogger(RomanNumeralService.class);
+	
+	// Min decimal integer value being supported by the service (romannumeral.range.min).
+	private long rangeMin = 1;
+	
+	// Max decimal integer value being supported by the service (romannumeral.range.max).
+	// Integers above 3999 are converted in vinculum notation.
+	private long rangeMax = 3999;
+	
+	// Customized metrics: request and error counters, stage timers.
+	private final RomanNumeralMetrics metrics;
+	
+	// Summary of the queried values and rejected inputs, null when disabled (romannumeral.telemetry.enabled).
+	// The requests kept out of the metrics are not summarized either.
+	@Autowired(required = false)
+	private QueryTelemetry queryTelemetry;
+	
+	// Default max-age in seconds of successful conversions, one year.
+	static final long DEFAULT_CACHE_MAX_AGE = 31536000;
+	
+	// ETags of the integers in the classic range, indexed by value. Index 0 is left empty.
+	private static final String[] ETAGS = new String[RomanNumeralConverter.MAX_VALUE + 1];
+	
+	static {
+		for (int n = RomanNumeralConverter.MIN_VALUE; n <= RomanNumeralConverter.MAX_VALUE; n++) {
+			ETAGS[n] = "\"" + n + "\"";
+		}
+	}
+	
+	// Cache-Control of successful conversions (romannumeral.cache.max-age). 
+	// A conversion never changes, so it is cached as immutable.
+	private final String cacheControl;
+	
+	// Shared error responses of '/romannumeral' for error code 1 to 3.
+	private final ErrorResponses errorResponses;
+	
+	// Shared error responses of '/romannumeral/reverse' for error code 1 to 3.
+	private final ErrorResponses reverseErrorResponses;
+	
+	/**
+	* Constructor for RomanNumeralService with the classic range [1,3999].
+	* @param meterRegistry is passed in from the caller.
+	*/
+	public RomanNumeralService(MeterRegistry meterRegistry) {
+		this(new RomanNumeralMetrics(meterRegistry), RomanNumeralConverter.MIN_VALUE, RomanNumeralConverter.MAX_VALUE, DEFAULT_CACHE_MAX_AGE, 0);
+	}
+	
+	/**
+	* Constructor for RomanNumeralService.
+	* @param metrics records the requests, errors and stage latencies.
+	* @param rangeMin: min supported value, at least 1.
+	* @param rangeMax: max supported value, up to Long.MAX_VALUE.
+	* @param cacheMaxAge: seconds successful conversions may be cached, 0 to disable caching.
+	* @param errorCacheMaxAge: seconds validation errors may be cached, 0 to disable caching.
+	*/
+	@Autowired
+	public RomanNumeralService(RomanNumeralMetrics metrics,
+			@Value("${romannumeral.range.min:1}") long rangeMin,
+			@Value("${romannumeral.range.max:3999}") long rangeMax,
+			@Value("${romannumeral.cache.max-age:31536000}") long cacheMaxAge,
+			@Value("${romannumeral.cache.error-max-age:0}") long errorCacheMaxAge) {
+		
+		if (rangeMin < 1 || rangeMax < rangeMin) {
+			throw new IllegalArgumentException(String.format(
+					"Invalid supported range [%d, %d]: min must be at least 1 and not greater than max.", rangeMin, rangeMax));
+		}
+		this.rangeMin = rangeMin;
+		this.rangeMax = rangeMax;
+		this.metrics = metrics;
+		this.cacheControl = cacheControlOf(cacheMaxAge, true);
+		String errorCacheControl = cacheControlOf(errorCacheMaxAge, false);
+		this.errorResponses = new ErrorResponses("uri=/romannumeral", new String[] {
+				null,
+				generateErrorMessage(1, this.rangeMin, this.rangeMax),
+				generateErrorMessage(2, this.rangeMin, this.rangeMax),
+				generateErrorMessage(3, this.rangeMin, this.rangeMax) }, errorCacheControl);
+		this.reverseErrorResponses = new ErrorResponses("uri=/romannumeral/reverse", new String[] {
+				null,
+				generateReverseErrorMessage(1, this.rangeMin, this.rangeMax),
+				generateReverseErrorMessage(2, this.rangeMin, this.rangeMax),
+				generateReverseErrorMessage(3, this.rangeMin, this.rangeMax) }, errorCacheControl);
+	}
+	
+	/**
+	* getRomanNumeral returns ResponseEntity in which a RomanNumeral
+	* object is wrapped, along with HttpStatus.OK.
+	* The response carries an ETag and the immutable Cache-Control, so a
+	* conditional GET is answered with 304 and the body is not serialized.
+	* When query is not valid, the shared ErrorDetails response of the
+	* error is returned instead.
+	* @param query: value of request parameter query
+	*/
+	public ResponseEntity<?> getRomanNumeral(@RequestParam String query) {
+		
+		log.trace("getRomanNumeral starts: query:[{}]", query);
+		
+		// Step1 to Step3: validate query. Errors are returned as values, no exception is thrown.
+		ValidationResult result = validateRequest(query);
+		
+		long validated = System.nanoTime();
+		
+		if (!result.isValid()) {
+			return errorResponse(this.errorResponses, result, validated);
+		}
+
+		// Step4: When all validations(step1 to step3) passed, try to get the Roman numeral representation of the integer.
+		String romanNumeral = intToRoman(result.getValue());
+		
+		long converted = System.nanoTime();
+		this.metrics.recordConversion(converted - validated);
+		
+		log.info("Roman numeral of queried integer {} is:[{}]", query, romanNumeral);
+		log.trace("getRomanNumeral ends: query:[{}]", query);
+		
+		ResponseEntity<RomanNumeral> response = cacheable(result.getValue()).body(new RomanNumeral(query, romanNumeral));
+		this.metrics.recordResponse(System.nanoTime() - converted);
+		return response;
+
+	}
+	
+	/**
+	* getInteger returns ResponseEntity in which a RomanNumeral object is
+	* wrapped, along with HttpStatus.OK. The input of the RomanNumeral is the
+	* queried Roman numeral and the output is its integer value.
+	* When query is not a canonical Roman numeral, the shared ErrorDetails
+	* response of the error is returned instead.
+	* @param query: value of request parameter query
+	*/
+	public ResponseEntity<?> getInteger(String query) {
+		
+		log.trace("getInteger starts: query:[{}]", query);
+		
+		// The total request counter will be incremented whenever a request to '/romannumeral/reverse' endpoint is received.
+		this.metrics.request();
+		long start = System.nanoTime();
+		
+		ValidationResult result = recordValidation(validateNumeral(query), start);
+		
+		long validated = System.nanoTime();
+		
+		if (!result.isValid()) {
+			return errorResponse(this.reverseErrorResponses, result, validated);
+		}
+		
+		String integer = Long.toString(result.getValue());
+		
+		long converted = System.nanoTime();
+		this.metrics.recordConversion(converted - validated);
+		
+		log.info("Integer value of queried Roman numeral {} is:[{}]", query, integer);
+		log.trace("getInteger ends: query:[{}]", query);
+		
+		ResponseEntity<RomanNumeral> response = cacheable(result.getValue()).body(new RomanNumeral(query, integer));
+		this.metrics.recordResponse(System.nanoTime() - converted);
+		return response;
+	}
+	
+	/**
+	* validateNumeral validates that numeral is a canonical Roman numeral
+	* within the supported range.
+	* @param numeral: Roman numeral to validate.
+	*/
+	public ValidationResult validateNumeral(CharSequence numeral) {
+		
+		// Step1: check if numeral is Null or only contains white spaces.
+		if (numeral == null || QueryValidator.isBlank(numeral, 0, numeral.length())) {
+			return ValidationResult.NO_INPUT;
+		}
+		
+		// Step2: parse numeral in standard form.
+		int value = RomanNumeralParser.parse(numeral);
+		if (value == RomanNumeralParser.INVALID) {
+			return ValidationResult.INVALID_FORMAT;
+		}
+		
+		// Step3: check if the integer is within the supported range.
+		if (value < this.rangeMin || value > this.rangeMax) {
+			return ValidationResult.OUT_OF_RANGE;
+		}
+		return ValidationResult.valid(value);
+	}
+	
+	/**
+	* toRoman returns the Roman numeral of a validated integer.
+	* @param n: integer within the supported range.
+	*/
+	public String toRoman(long n) {
+		return intToRoman(n);
+	}
+	
+	/**
+	* toRomanNumerals writes the Roman numerals of values back to back into out,
+	* for callers in the same JVM which convert many integers at once. The numeral
+	* of values[i] is out[offsets[i], offsets[i + 1]); a value out of the supported
+	* range has an empty numeral. Large arrays are converted in parallel, and no
+	* String or boxed value is created per element.
+	* offsets is filled first, so when out is too small the exception is thrown
+	* with offsets[values.length] holding the number of chars needed.
+	* @param values: integers to convert.
+	* @param offsets: array of values.length + 1 elements, filled with the offsets of the numerals.
+	* @param out: destination of the numerals.
+	* @return number of values out of the supported range.
+	* @throws IllegalArgumentException when offsets has the wrong size or out is too small.
+	*/
+	public int toRomanNumerals(int[] values, int[] offsets, char[] out) {
+		
+		NumeralArrays.offsets(values, offsets, this.rangeMin, this.rangeMax, false);
+		if (offsets[values.length] > out.length) {
+			throw new IllegalArgumentException("out needs " + offsets[values.length] + " chars.");
+		}
+		return NumeralArrays.write(values, offsets, this.rangeMin, this.rangeMax, out);
+	}
+	
+	/**
+	* toRomanNumerals writes the Roman numerals of values back to back into out as
+	* UTF-8 bytes (ASCII for integers up to 3999), starting at its position. The
+	* numeral of values[i] is at [position + offsets[i], position + offsets[i + 1]);
+	* the position of out is advanced past the last numeral. Otherwise the same as
+	* toRomanNumerals with a char[].
+	* @param values: integers to convert.
+	* @param offsets: array of values.length + 1 elements, filled with the offsets of the numerals.
+	* @param out: destination of the numerals.
+	* @return number of values out of the supported range.
+	* @throws IllegalArgumentException when offsets has the wrong size or out has too few bytes remaining.
+	*/
+	public int toRomanNumerals(int[] values, int[] offsets, ByteBuffer out) {
+		
+		NumeralArrays.offsets(values, offsets, this.rangeMin, this.rangeMax, true);
+		if (offsets[values.length] > out.remaining()) {
+			throw new IllegalArgumentException("out needs " + offsets[values.length] + " bytes remaining.");
+		}
+		int outOfRange = NumeralArrays.write(values, offsets, this.rangeMin, this.rangeMax, out);
+		out.position(out.position() + offsets[values.length]);
+		return outOfRange;
+	}
+	
+	/**
+	* validateRequest validates request parameter query of a '/romannumeral' request
+	* and records the request, its validation time and its error in the metrics.
+	* Used by getRomanNumeral and by callers which write the response themselves.
+	* @param query: value of request parameter query
+	*/
+	public ValidationResult validateRequest(CharSequence query) {
+		
+		// The total request counter will be incremented whenever a request to '/romannumeral' endpoint is received.
+		this.metrics.request();
+		long start = System.nanoTime();
+		ValidationResult result = recordValidation(validateQuery(query), start);
+		if (this.queryTelemetry != null && this.metrics.isRecording()) {
+			this.queryTelemetry.record(query, result);
+		}
+		return result;
+	}
+	
+	/**
+	* validateQuery validates request parameter query against the supported range.
+	* @param query: value of request parameter query
+	*/
+	public ValidationResult validateQuery(CharSequence query) {
+		return QueryValidator.validate(query, this.rangeMin, this.rangeMax);
+	}
+	
+	/**
+	* record counts one converted query of a bulk request in the request metrics.
+	* @param result: validation result of the query.
+	*/
+	void record(ValidationResult result) {
+		
+		this.metrics.request();
+		if (!result.isValid()) {
+			this.metrics.error(result.getErrorCode());
+		}
+	}
+	
+	/**
+	* record counts one converted query of a bulk request in the request metrics
+	* and in the query telemetry.
+	* @param query: the query.
+	* @param result: validation result of the query.
+	*/
+	void record(CharSequence query, ValidationResult result) {
+		
+		record(result);
+		if (this.queryTelemetry != null && this.metrics.isRecording()) {
+			this.queryTelemetry.record(query, result);
+		}
+	}
+	
+	/**
+	* recordValidation records the validation time and the error of result.
+	* @param result: the validation result.
+	* @param start: System.nanoTime() when the validation started.
+	*/
+	private ValidationResult recordValidation(ValidationResult result, long start) {
+		
+		this.metrics.recordValidation(System.nanoTime() - start);
+		if (!result.isValid()) {
+			logValidationError(result);
+			this.metrics.error(result.getErrorCode());
+		}
+		return result;
+	}
+	
+	/**
+	* errorResponse returns the shared response of the error of result.
+	* @param responses: shared error responses of the end point.
+	* @param result: the failed validation result.
+	* @param validated: System.nanoTime() when the validation ended.
+	*/
+	private ResponseEntity<?> errorResponse(ErrorResponses responses, ValidationResult result, long validated) {
+		
+		ResponseEntity<?> response = responses.get(result.getErrorCode());
+		this.metrics.recordResponse(System.nanoTime() - validated);
+		return response;
+	}
+	
+	/**
+	* cacheable returns the builder of a successful conversion of value, with
+	* its ETag and Cache-Control headers. The ETag only depends on value,
+	* because the response of a query never changes.
+	* @param value: the converted integer.
+	*/
+	private BodyBuilder cacheable(long value) {
+		return ResponseEntity.ok().header(HttpHeaders.CACHE_CONTROL, this.cacheControl).eTag(etagOf(value));
+	}
+	
+	/**
+	* etagOf returns the quoted ETag of the conversion of value.
+	* @param value: the converted integer.
+	*/
+	public String etagOf(long value) {
+		return value < ETAGS.length ? ETAGS[(int) value] : "\"" + value + "\"";
+	}
+	
+	/**
+	* getter for the Cache-Control header value of successful conversions.
+	*/
+	public String getCacheControl() {
+		return cacheControl;
+	}
+	
+	/**
+	* cacheControlOf returns the Cache-Control header value for maxAge seconds.
+	* @param maxAge: seconds the response may be cached, 0 or less to disable caching.
+	* @param immutable: whether the response never changes.
+	*/
+	private static String cacheControlOf(long maxAge, boolean immutable) {
+		
+		if (maxAge <= 0) {
+			return CacheControl.noStore().getHeaderValue();
+		}
+		String value = CacheControl.maxAge(maxAge, TimeUnit.SECONDS).cachePublic().getHeaderValue();
+		return immutable ? value + ", immutable" : value;
+	}
+	
+	/**
+	* getter for metrics.
+	*/
+	public RomanNumeralMetrics getMetrics() {
+		return metrics;
+	}
+	
+	/**
+	* getter for the shared error responses of '/romannumeral'.
+	*/
+	public ErrorResponses getErrorResponses() {
+		return errorResponses;
+	}
+	
+	/**
+	* getter for rangeMin.
+	*/
+	public long getRangeMin() {
+		return rangeMin;
+	}
+	
+	/**
+	* getter for rangeMax.
+	*/
+	public long getRangeMax() {
+		return rangeMax;
+	}
+	
+	/**
+	* intToRoman returns a String value represents the Roman numeral of n.
+	* Integers above 3999 are converted in vinculum notation.
+	* @param n : decimal integer to be converted to Roman numeral.
+	*/
+	private String intToRoman(long n) {
+		
+		// Guarded, so that n is not boxed when trace is disabled.
+		if (log.isTraceEnabled()) {
+			log.trace("intToRoman starts: n:[{}]", n);
+		}
+		
+		// In the classic range, the numeral is looked up from the table precomputed by
+		// RomanNumeralConverter, so no String is built here.
+		String result = VinculumConverter.toRoman(n);
+		
+		log.trace("intToRoman ends: result:[{}]", result);
+		
+		return result;
+	}
+
+	/**
+	* logValidationError writes the reason why query was rejected.
+	* @param result : the failed validation result.
+	*/
+	private void logValidationError(ValidationResult result) {
+		
+		switch (result.getStatus()) {
+			case NO_INPUT:
+				log.error("Request URI parameter query has either null value or only white spaces.");
+				break;
+			case INVALID_FORMAT:
+				log.error("Request URI parameter query has value with invalid integer format.");
+				break;
+			default:
+				log.error("Request URI parameter query has value out of supported range.");
+		}
+	}
+	
+	/**
+	* generateErrorMessage generates a description of the error happens during the validation against
+	* request parameter query. The messages are generated once, when the service is created.
+	* @param errorCode : integer value represents which type of the error it is.
+	* @param min: supported min value.
+	* @param max: supported max value.
+	*/
+	private static String generateErrorMessage(int errorCode, long min, long max) {
+		
+		String errorMessage = null;
+		
+		switch (errorCode) {
+			case 1 :
+				// query value is null or only contains white spaces.
+				errorMessage = "Input query value is missing or only contains whitespace.";
+				break;
+			case 2:
+				// query value is not a valid integer format.
+				errorMessage = "Input query value does not have correct integer format.";
+				break;
+			case 3:
+				// query value is out of supported range.
+				errorMessage = "Input query value is out of supported range.";
+				break;
+			default:
+				errorMessage = "Input query value cannot be parsed into integer value.";
+		
+		}
+		
+		return errorMessage +
+				 String.format(
+						" Please give an integer value between %d and %d. Example: /romannumeral?query=123",
+						min, max);
+	}
+	
+	/**
+	* generateReverseErrorMessage generates a description of the error happens during the validation
+	* of a Roman numeral. The messages are generated once, when the service is created.
+	* @param errorCode : integer value represents which type of the error it is.
+	* @param min: supported min value.
+	* @param max: supported max value.
+	*/
+	private static String generateReverseErrorMessage(int errorCode, long min, long max) {
+		
+		String errorMessage = null;
+		
+		switch (errorCode) {
+			case 1 :
+				errorMessage = "Input query value is missing or only contains whitespace.";
+				break;
+			case 2:
+				errorMessage = "Input query value is not a Roman numeral in standard form.";
+				break;
+			case 3:
+				errorMessage = "Input query value is out of supported range.";
+				break;
+			default:
+				errorMessage = "Input query value cannot be parsed into Roman numeral.";
+		
+		}
+		
+		return errorMessage +
+				 String.format(
+						" Please give a Roman numeral between %s and %s. Example: /romannumeral/reverse?query=CXXIII",
+						VinculumConverter.toRoman(min),
+						VinculumConverter.toRoman(Math.min(max, RomanNumeralConverter.MAX_VALUE)));
+	}
+}
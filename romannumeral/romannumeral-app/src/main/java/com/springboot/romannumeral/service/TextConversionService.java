@@ -0,0 +1,275 @@
+package com.springboot.romannumeral.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import com.springboot.romannumeral.core.RomanNumeralConverter;
+import com.springboot.romannumeral.core.ValidationResult;
+
+/**
+* TextConversionService rewrites the standalone integers of a free text into
+* Roman numerals, or the standalone Roman numerals into integers, in a single
+* streaming pass over the bytes of the text. Everything else is copied byte
+* for byte, so the text may be in any ASCII compatible encoding (UTF-8,
+* ISO-8859-1, ...).
+* A word is a run of ASCII letters, digits and '_'. A word is standalone when
+* it is not joined to another word by a '.' or a ',' (so "1.5", "2,000",
+* "v1.2" and "e.g." are left unchanged). A standalone word is replaced when:
+* 	1. forward: it only has digits, does not start with '0' and is accepted by
+* 	   the validation rules of RomanNumeralService (in the supported range),
+* 	2. reverse: it only has the upper case letters IVXLCDM, is a canonical
+* 	   Roman numeral in the supported range and has at least two letters.
+* 	   One-letter words are only replaced when singleLetters is true, as the
+* 	   pronoun "I" (and "I'm", "I'll") would be replaced otherwise. Upper case
+* 	   words which happen to be numerals, such as "CD" or "MIX", are replaced.
+* Words which are not replaced are copied unchanged, they are not errors.
+* The text is read and written with fixed size buffers and a word is kept
+* only up to the length of the longest word which can be replaced, so the
+* memory used does not depend on the size of the text.
+* @author  Yan Zhou
+* @version 1.0
+* @since   2021-02-15
+*/
+@Service
+public class TextConversionService {
+
+	// Logger instance for the service to write logs into console and log file.
+	private Logger log = LoggerFactory.getLogger(TextConversionService.class);
+
+	// Longest word which is kept, longer words are never replaced: 19 digits of Long.MAX_VALUE.
+	static final int MAX_WORD_LENGTH = 19;
+
+	// Size of the buffers used to read the text and to write the converted text.
+	private static final int BUFFER_SIZE = 8192;
+
+	private final RomanNumeralService romanNumeralService;
+
+	/**
+	* Constructor for TextConversionService.
+	* @param romanNumeralService provides the validation rules.
+	*/
+	public TextConversionService(RomanNumeralService romanNumeralService) {
+		this.romanNumeralService = romanNumeralService;
+	}
+
+	/**
+	* convert reads a text from in and writes it into out with its standalone
+	* integers replaced by their Roman numerals, or its standalone Roman numerals
+	* replaced by their integers when reverse is true. The output is flushed after
+	* every read buffer, so the text is sent back while it is still being read.
+	* Every replaced word is counted as a request in the metrics and its value is
+	* recorded in the query telemetry.
+	* @param in : the text.
+	* @param out : the converted text.
+	* @param reverse : converts Roman numerals into integers instead.
+	* @param singleLetters : also converts one-letter numerals, such as "I", when reverse is true.
+	* @return number of words replaced.
+	*/
+	public long convert(InputStream in, OutputStream out, boolean reverse, boolean singleLetters) throws IOException {
+
+		log.trace("convert starts: reverse:[{}], singleLetters:[{}]", reverse, singleLetters);
+
+		Scanner scanner = new Scanner(out, reverse, singleLetters);
+		byte[] readBuffer = new byte[BUFFER_SIZE];
+		int read;
+		while ((read = in.read(readBuffer)) != -1) {
+			for (int i = 0; i < read; i++) {
+				scanner.next(readBuffer[i]);
+			}
+			scanner.flush();
+		}
+		scanner.end();
+		scanner.flush();
+
+		if (log.isTraceEnabled()) {
+			log.trace("convert ends: replaced:[{}]", scanner.replaced);
+		}
+		return scanner.replaced;
+	}
+
+	/**
+	* State of one conversion: the current word, a '.' or ',' following it which
+	* may join it to the next word, and the output buffer.
+	*/
+	private final class Scanner {
+
+		private final OutputStream out;
+		private final boolean reverse;
+		private final boolean singleLetters;
+		private final byte[] writeBuffer = new byte[BUFFER_SIZE];
+		private int written;
+
+		private final char[] word = new char[MAX_WORD_LENGTH];
+		private final CharBuffer wordSequence = CharBuffer.wrap(word);
+		private int wordLength;
+
+		// The current word is longer than MAX_WORD_LENGTH, it has been written already.
+		private boolean wordTooLong;
+
+		// The current word follows another word and a '.' or ','.
+		private boolean joinedBefore;
+
+		// '.' or ',' following the current word, 0 when there is none.
+		private byte separator;
+
+		private long replaced;
+
+		private Scanner(OutputStream out, boolean reverse, boolean singleLetters) {
+			this.out = out;
+			this.reverse = reverse;
+			this.singleLetters = singleLetters;
+		}
+
+		private boolean inWord() {
+			return wordLength > 0 || wordTooLong;
+		}
+
+		private void next(byte b) throws IOException {
+
+			if (isWordByte(b)) {
+				if (separator != 0) {
+					// The separator joins the current word to this one, neither is standalone.
+					writeWord();
+					write(separator);
+					separator = 0;
+					joinedBefore = true;
+				} else if (!inWord()) {
+					joinedBefore = false;
+				}
+				append(b);
+			} else if (separator != 0) {
+				endWord(!joinedBefore);
+				write(separator);
+				separator = 0;
+				write(b);
+			} else if (inWord() && (b == '.' || b == ',')) {
+				separator = b;
+			} else {
+				endWord(!joinedBefore);
+				write(b);
+			}
+		}
+
+		// Ends the text: the last word is followed by nothing.
+		private void end() throws IOException {
+
+			endWord(!joinedBefore);
+			if (separator != 0) {
+				write(separator);
+				separator = 0;
+			}
+		}
+
+		private void append(byte b) throws IOException {
+
+			if (wordTooLong) {
+				write(b);
+			} else if (wordLength < MAX_WORD_LENGTH) {
+				word[wordLength++] = (char) b;
+			} else {
+				writeWord();
+				wordTooLong = true;
+				write(b);
+			}
+		}
+
+		// Writes the current word, replaced when it is standalone and can be converted.
+		private void endWord(boolean standalone) throws IOException {
+
+			if (wordLength > 0 && standalone) {
+				wordSequence.limit(wordLength);
+				byte[] replacement = reverse ? toInteger(wordSequence, singleLetters) : toRoman(wordSequence);
+				if (replacement != null) {
+					write(replacement);
+					replaced++;
+					wordLength = 0;
+				}
+			}
+			writeWord();
+		}
+
+		// Writes the current word unchanged and starts a new one.
+		private void writeWord() throws IOException {
+
+			for (int i = 0; i < wordLength; i++) {
+				write((byte) word[i]);
+			}
+			wordLength = 0;
+			wordTooLong = false;
+		}
+
+		private void write(byte b) throws IOException {
+
+			if (written == writeBuffer.length) {
+				flush();
+			}
+			writeBuffer[written++] = b;
+		}
+
+		private void write(byte[] bytes) throws IOException {
+			for (byte b : bytes) {
+				write(b);
+			}
+		}
+
+		private void flush() throws IOException {
+
+			out.write(writeBuffer, 0, written);
+			written = 0;
+			out.flush();
+		}
+	}
+
+	// Numeral of a standalone integer word, null when it is left unchanged.
+	private byte[] toRoman(CharSequence word) {
+
+		if (word.charAt(0) == '0') {
+			return null;
+		}
+		for (int i = 0; i < word.length(); i++) {
+			char c = word.charAt(i);
+			if (c < '0' || c > '9') {
+				return null;
+			}
+		}
+		ValidationResult result = romanNumeralService.validateQuery(word);
+		if (!result.isValid()) {
+			return null;
+		}
+		romanNumeralService.record(word, result);
+		long value = result.getValue();
+		return value <= RomanNumeralConverter.MAX_VALUE
+				? RomanNumeralConverter.toAsciiBytes((int) value)
+				: romanNumeralService.toRoman(value).getBytes(StandardCharsets.UTF_8);
+	}
+
+	// Integer of a standalone numeral word, null when it is left unchanged.
+	private byte[] toInteger(CharSequence word, boolean singleLetters) {
+
+		if (word.length() == 1 && !singleLetters) {
+			return null;
+		}
+		for (int i = 0; i < word.length(); i++) {
+			if ("IVXLCDM".indexOf(word.charAt(i)) < 0) {
+				return null;
+			}
+		}
+		ValidationResult result = romanNumeralService.validateNumeral(word);
+		if (!result.isValid()) {
+			return null;
+		}
+		romanNumeralService.record(word, result);
+		return Long.toString(result.getValue()).getBytes(StandardCharsets.US_ASCII);
+	}
+
+	private static boolean isWordByte(byte b) {
+		return (b >= '0' && b <= '9') || (b >= 'A' && b <= 'Z') || (b >= 'a' && b <= 'z') || b == '_';
+	}
+}
@@ -0,0 +1,450 @@
+package com.springboot.romannumeral.tcp;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import com.springboot.romannumeral.core.RomanNumeralConverter;
+import com.springboot.romannumeral.core.ValidationResult;
+import com.springboot.romannumeral.service.RomanNumeralService;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+* TcpConversionServer is a plain TCP listener for callers which only need
+* "number in, numeral out", without HTTP and JSON framing.
+* Protocol: the client sends queries separated by '\n' (a trailing '\r' is
+* ignored) on a persistent connection and may pipeline as many as it likes.
+* The server answers every query, in order, with one line: the Roman numeral,
+* or "ERR " followed by the error code of ErrorDetails (1 no input, 2 invalid
+* integer format, 3 out of range). Queries are validated by RomanNumeralService
+* with the same rules as '/romannumeral'; lines longer than 64 characters are
+* rejected with error code 2.
+* Connections are served by a few selector threads. Every connection owns its
+* read buffer, write buffer and line buffer, so a message does not allocate in
+* the classic range [1,3999]. When the client does not read its answers, the
+* server stops reading its queries until the write buffer is drained.
+* It is enabled with romannumeral.tcp.enabled=true and runs alongside the web server.
+* Metrics:
+* 	romannumeral.tcp.connections: number of open connections.
+* 	romannumeral.tcp.requests: number of queries answered.
+* 	romannumeral.tcp.errors: number of queries answered with an error, per error code.
+* 	romannumeral.tcp.bytes.received / romannumeral.tcp.bytes.sent: traffic of the connections.
+* @author  Yan Zhou
+* @version 1.0
+* @since   2021-02-15
+*/
+@Component
+@ConditionalOnProperty(name = "romannumeral.tcp.enabled", havingValue = "true")
+public class TcpConversionServer implements SmartLifecycle {
+
+	private Logger log = LoggerFactory.getLogger(TcpConversionServer.class);
+
+	// Longest line which is validated, longer lines are rejected as invalid integer format.
+	static final int MAX_LINE_LENGTH = 64;
+
+	private static final int READ_BUFFER_SIZE = 8192;
+
+	private static final int WRITE_BUFFER_SIZE = 16384;
+
+	// Room kept in the write buffer for one answer: the longest vinculum numeral
+	// (Long.MAX_VALUE) is below 600 bytes in UTF-8.
+	private static final int MAX_ANSWER_LENGTH = 1024;
+
+	// Highest validation error code of ErrorDetails.
+	private static final int MAX_ERROR_CODE = 3;
+
+	// Answers of the error codes, indexed by error code.
+	private static final byte[][] ERROR_ANSWERS = new byte[MAX_ERROR_CODE + 1][];
+
+	static {
+		for (int code = 0; code <= MAX_ERROR_CODE; code++) {
+			ERROR_ANSWERS[code] = ("ERR " + code + "\n").getBytes(StandardCharsets.US_ASCII);
+		}
+	}
+
+	private final RomanNumeralService romanNumeralService;
+	private final int port;
+	private final int ioThreads;
+
+	private final AtomicInteger connections = new AtomicInteger();
+	private final LongAdder requests = new LongAdder();
+	private final LongAdder[] errors = new LongAdder[MAX_ERROR_CODE + 1];
+	private final LongAdder bytesReceived = new LongAdder();
+	private final LongAdder bytesSent = new LongAdder();
+
+	private volatile boolean running;
+	private ServerSocketChannel serverChannel;
+	private Thread acceptor;
+	private final List<EventLoop> eventLoops = new ArrayList<>();
+
+	/**
+	* Constructor for TcpConversionServer.
+	* @param romanNumeralService validates and converts the queries.
+	* @param meterRegistry: registry the metrics are registered into.
+	* @param port: listening port (romannumeral.tcp.port), 0 for a random port.
+	* @param ioThreads: number of selector threads (romannumeral.tcp.io-threads), 0 for one per processor.
+	*/
+	public TcpConversionServer(RomanNumeralService romanNumeralService, MeterRegistry meterRegistry,
+			@Value("${romannumeral.tcp.port:9090}") int port,
+			@Value("${romannumeral.tcp.io-threads:0}") int ioThreads) {
+
+		this.romanNumeralService = romanNumeralService;
+		this.port = port;
+		this.ioThreads = ioThreads > 0 ? ioThreads : Runtime.getRuntime().availableProcessors();
+
+		Gauge.builder("romannumeral.tcp.connections", connections, AtomicInteger::get)
+				.description("The number of open connections of the TCP listener")
+				.register(meterRegistry);
+		FunctionCounter.builder("romannumeral.tcp.requests", requests, LongAdder::sum)
+				.description("The number of queries answered by the TCP listener")
+				.register(meterRegistry);
+		for (int code = 1; code <= MAX_ERROR_CODE; code++) {
+			errors[code] = new LongAdder();
+			FunctionCounter.builder("romannumeral.tcp.errors", errors[code], LongAdder::sum)
+					.description("The number of queries answered with an error by the TCP listener")
+					.tag("code", Integer.toString(code))
+					.register(meterRegistry);
+		}
+		FunctionCounter.builder("romannumeral.tcp.bytes.received", bytesReceived, LongAdder::sum)
+				.description("The number of bytes received by the TCP listener")
+				.baseUnit("bytes")
+				.register(meterRegistry);
+		FunctionCounter.builder("romannumeral.tcp.bytes.sent", bytesSent, LongAdder::sum)
+				.description("The number of bytes sent by the TCP listener")
+				.baseUnit("bytes")
+				.register(meterRegistry);
+	}
+
+	@Override
+	public synchronized void start() {
+
+		if (running) {
+			return;
+		}
+		try {
+			serverChannel = ServerSocketChannel.open();
+			serverChannel.bind(new InetSocketAddress(port));
+			for (int i = 0; i < ioThreads; i++) {
+				EventLoop eventLoop = new EventLoop(Selector.open());
+				eventLoops.add(eventLoop);
+			}
+		} catch (IOException ex) {
+			throw new UncheckedIOException("TCP listener cannot be started on port " + port + ".", ex);
+		}
+		running = true;
+		for (int i = 0; i < eventLoops.size(); i++) {
+			Thread thread = new Thread(eventLoops.get(i), "romannumeral-tcp-io-" + i);
+			thread.setDaemon(true);
+			eventLoops.get(i).thread = thread;
+			thread.start();
+		}
+		acceptor = new Thread(this::accept, "romannumeral-tcp-acceptor");
+		acceptor.setDaemon(true);
+		acceptor.start();
+		log.info("TCP listener started on port {} with {} io threads", getPort(), eventLoops.size());
+	}
+
+	@Override
+	public synchronized void stop() {
+
+		if (!running) {
+			return;
+		}
+		running = false;
+		try {
+			serverChannel.close();
+		} catch (IOException ex) {
+			log.warn("TCP listener channel cannot be closed", ex);
+		}
+		for (EventLoop eventLoop : eventLoops) {
+			eventLoop.selector.wakeup();
+		}
+		try {
+			acceptor.join();
+			for (EventLoop eventLoop : eventLoops) {
+				eventLoop.thread.join();
+			}
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+		eventLoops.clear();
+		log.info("TCP listener stopped");
+	}
+
+	@Override
+	public boolean isRunning() {
+		return running;
+	}
+
+	/**
+	* getPort returns the port the listener is bound to, or the configured port when it is not started.
+	*/
+	public int getPort() {
+		ServerSocketChannel channel = serverChannel;
+		if (channel != null && channel.socket().isBound()) {
+			return channel.socket().getLocalPort();
+		}
+		return port;
+	}
+
+	// Accepts the connections and hands them over to the event loops in turn.
+	private void accept() {
+
+		int next = 0;
+		while (running) {
+			try {
+				SocketChannel channel = serverChannel.accept();
+				channel.configureBlocking(false);
+				channel.socket().setTcpNoDelay(true);
+				eventLoops.get(next).register(channel);
+				next = (next + 1) % eventLoops.size();
+			} catch (ClosedChannelException ex) {
+				// stop() closed the listener.
+				return;
+			} catch (IOException ex) {
+				log.warn("TCP connection cannot be accepted", ex);
+			}
+		}
+	}
+
+	/**
+	* EventLoop serves its connections on one selector thread.
+	*/
+	private final class EventLoop implements Runnable {
+
+		private final Selector selector;
+		private final Queue<SocketChannel> pending = new ConcurrentLinkedQueue<>();
+		private Thread thread;
+
+		private EventLoop(Selector selector) {
+			this.selector = selector;
+		}
+
+		private void register(SocketChannel channel) {
+			pending.add(channel);
+			selector.wakeup();
+		}
+
+		@Override
+		public void run() {
+
+			while (running) {
+				try {
+					selector.select();
+				} catch (IOException ex) {
+					log.error("TCP selector failed", ex);
+					break;
+				}
+				SocketChannel channel;
+				while ((channel = pending.poll()) != null) {
+					try {
+						Connection connection = new Connection(channel);
+						connection.key = channel.register(selector, SelectionKey.OP_READ, connection);
+						connections.incrementAndGet();
+					} catch (IOException ex) {
+						closeQuietly(channel);
+					}
+				}
+				Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+				while (keys.hasNext()) {
+					SelectionKey key = keys.next();
+					keys.remove();
+					Connection connection = (Connection) key.attachment();
+					try {
+						if (key.isValid()) {
+							connection.handle(key.isReadable());
+						}
+					} catch (IOException ex) {
+						// The client went away.
+						connection.close();
+					}
+				}
+			}
+
+			for (SelectionKey key : selector.keys()) {
+				((Connection) key.attachment()).close();
+			}
+			SocketChannel channel;
+			while ((channel = pending.poll()) != null) {
+				closeQuietly(channel);
+			}
+			closeQuietly(selector);
+		}
+	}
+
+	/**
+	* Connection holds the buffers of one client connection.
+	*/
+	private final class Connection {
+
+		private final SocketChannel channel;
+		private SelectionKey key;
+		private final ByteBuffer in = ByteBuffer.allocate(READ_BUFFER_SIZE);
+		private final ByteBuffer out = ByteBuffer.allocate(WRITE_BUFFER_SIZE);
+		private final char[] line = new char[MAX_LINE_LENGTH];
+		private final CharBuffer lineSequence = CharBuffer.wrap(line);
+		private int lineLength;
+		private boolean lineTooLong;
+		private boolean endOfInput;
+
+		private Connection(SocketChannel channel) {
+			this.channel = channel;
+		}
+
+		/**
+		* handle reads the available queries, answers them and writes the answers.
+		* Queries are only read while there is room for their answers.
+		*/
+		private void handle(boolean readable) throws IOException {
+
+			if (readable) {
+				int read = channel.read(in);
+				if (read < 0) {
+					endOfInput = true;
+				} else {
+					bytesReceived.add(read);
+				}
+			}
+
+			boolean blocked;
+			do {
+				in.flip();
+				blocked = answer();
+				in.compact();
+				out.flip();
+				bytesSent.add(channel.write(out));
+				out.compact();
+			} while (blocked && out.position() == 0);
+
+			if (out.position() > 0) {
+				// Wait until the client reads its answers.
+				key.interestOps(SelectionKey.OP_WRITE);
+			} else if (endOfInput) {
+				if (lineLength > 0 || lineTooLong) {
+					// The last query is not terminated by a newline.
+					answerLine();
+					handle(false);
+					return;
+				}
+				close();
+			} else {
+				key.interestOps(SelectionKey.OP_READ);
+			}
+		}
+
+		/**
+		* answer answers the complete lines of the read buffer.
+		* @return true when it stopped because the write buffer is full.
+		*/
+		private boolean answer() {
+
+			byte[] bytes = in.array();
+			int position = in.position();
+			int limit = in.limit();
+			try {
+				while (position < limit) {
+					if (out.remaining() < MAX_ANSWER_LENGTH) {
+						return true;
+					}
+					byte b = bytes[position++];
+					if (b == '\n') {
+						answerLine();
+					} else if (lineLength < MAX_LINE_LENGTH) {
+						line[lineLength++] = (char) (b & 0xFF);
+					} else {
+						lineTooLong = true;
+					}
+				}
+				return false;
+			} finally {
+				in.position(position);
+			}
+		}
+
+		private void answerLine() {
+
+			int length = lineLength;
+			if (length > 0 && line[length - 1] == '\r') {
+				length--;
+			}
+			ValidationResult result;
+			if (lineTooLong) {
+				result = ValidationResult.INVALID_FORMAT;
+			} else {
+				lineSequence.limit(length);
+				result = romanNumeralService.validateQuery(lineSequence);
+			}
+			lineLength = 0;
+			lineTooLong = false;
+
+			requests.increment();
+			if (!result.isValid()) {
+				errors[result.getErrorCode()].increment();
+				out.put(ERROR_ANSWERS[result.getErrorCode()]);
+				return;
+			}
+			long value = result.getValue();
+			if (value <= RomanNumeralConverter.MAX_VALUE) {
+				out.put(RomanNumeralConverter.toAsciiBytes((int) value));
+			} else {
+				putUtf8(romanNumeralService.toRoman(value));
+			}
+			out.put((byte) '\n');
+		}
+
+		// Encodes a vinculum numeral: letters are ASCII, the overline U+0305 takes two bytes.
+		private void putUtf8(String numeral) {
+			for (int i = 0; i < numeral.length(); i++) {
+				char c = numeral.charAt(i);
+				if (c < 0x80) {
+					out.put((byte) c);
+				} else {
+					out.put((byte) (0xC0 | (c >> 6)));
+					out.put((byte) (0x80 | (c & 0x3F)));
+				}
+			}
+		}
+
+		private void close() {
+			if (key != null && key.isValid()) {
+				key.cancel();
+				connections.decrementAndGet();
+			}
+			closeQuietly(channel);
+		}
+	}
+
+	private static void closeQuietly(Closeable closeable) {
+		try {
+			closeable.close();
+		} catch (IOException ex) {
+			// nothing to do, the channel is dropped anyway.
+		}
+	}
+}
@@ -0,0 +1,119 @@
+package com.springboot.romannumeral.telemetry;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+* CountMinSketch estimates how often every key of a stream was seen, in a
+* fixed amount of memory whatever the number of distinct keys: depth rows of
+* width counters, every key incrementing one counter per row. A key's
+* estimate is the smallest of its counters; it is never below the true count
+* and, with probability 1 - e^-depth, exceeds it by at most e/width of all the
+* keys added.
+* Keys are 64 bit hashes; the row indexes are derived from both halves of the
+* hash (double hashing). The counters are incremented with atomic operations,
+* so adding is lock free.
+* @author  Yan Zhou
+* @version 1.0
+* @since   2021-02-15
+*/
+public class CountMinSketch {
+
+	private final int width;
+	private final int depth;
+	private final int mask;
+	private final AtomicLongArray counters;
+
+	/**
+	* Constructor for CountMinSketch.
+	* @param width: counters per row, rounded up to a power of two.
+	* @param depth: number of rows.
+	*/
+	public CountMinSketch(int width, int depth) {
+
+		if (width < 1 || width > 1 << 24 || depth < 1 || depth > 16) {
+			throw new IllegalArgumentException("width must be in [1, 2^24] and depth in [1, 16].");
+		}
+		this.width = width == 1 ? 1 : Integer.highestOneBit(width - 1) << 1;
+		this.depth = depth;
+		this.mask = this.width - 1;
+		this.counters = new AtomicLongArray(this.width * depth);
+	}
+
+	/**
+	* add counts one occurrence of key.
+	* @param hash: 64 bit hash of the key, see hash.
+	* @return estimate of the count of key, including this occurrence.
+	*/
+	public long add(long hash) {
+
+		int h1 = (int) hash;
+		int h2 = (int) (hash >>> 32) | 1;
+		long estimate = Long.MAX_VALUE;
+		for (int row = 0; row < depth; row++) {
+			int index = row * width + ((h1 + row * h2) & mask);
+			estimate = Math.min(estimate, counters.incrementAndGet(index));
+		}
+		return estimate;
+	}
+
+	/**
+	* estimate returns the estimated count of key.
+	* @param hash: 64 bit hash of the key, see hash.
+	*/
+	public long estimate(long hash) {
+
+		int h1 = (int) hash;
+		int h2 = (int) (hash >>> 32) | 1;
+		long estimate = Long.MAX_VALUE;
+		for (int row = 0; row < depth; row++) {
+			estimate = Math.min(estimate, counters.get(row * width + ((h1 + row * h2) & mask)));
+		}
+		return estimate;
+	}
+
+	/**
+	* errorBound returns the over-estimate e/width * total, not exceeded with probability 1 - e^-depth.
+	* @param total: number of keys added.
+	*/
+	public long errorBound(long total) {
+		return (long) Math.ceil(Math.E / width * total);
+	}
+
+	/**
+	* hash returns the 64 bit hash of a long key (finalizer of SplitMix64).
+	*/
+	public static long hash(long key) {
+
+		long z = key + 0x9E3779B97F4A7C15L;
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+
+	/**
+	* hash returns the 64 bit hash of the characters of key in [0, length).
+	*/
+	public static long hash(CharSequence key, int length) {
+
+		// FNV-1a over the chars, then mixed so both halves are usable as row indexes.
+		long h = 0xCBF29CE484222325L;
+		for (int i = 0; i < length; i++) {
+			h = (h ^ key.charAt(i)) * 0x100000001B3L;
+		}
+		return hash(h);
+	}
+
+	/**
+	* getter for width.
+	*/
+	public int getWidth() {
+		return width;
+	}
+
+	/**
+	* getter for depth.
+	*/
+	public int getDepth() {
+		return depth;
+	}
+}
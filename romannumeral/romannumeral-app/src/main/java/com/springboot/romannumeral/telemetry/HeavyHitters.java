@@ -0,0 +1,195 @@
+package com.springboot.romannumeral.telemetry;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+* HeavyHitters keeps the keys with the highest estimates of a CountMinSketch,
+* so the most frequent keys of a stream can be listed without keeping every
+* key. Candidates live in a small open addressing table of twice the number of
+* keys reported; a key is looked up in a few slots from its hash and, when it
+* is not there, takes an empty slot or replaces the candidate of the lowest
+* estimate among those slots, if its own estimate is higher.
+* Offers are lock free: slots are taken with compareAndSet and the estimate
+* of a candidate is raised in place. While the table is full, keys whose
+* estimate is not above the lowest estimate of the table return at once
+* without touching it. Only a key entering the table allocates.
+* @author  Yan Zhou
+* @version 1.0
+* @since   2021-02-15
+*/
+public class HeavyHitters {
+
+	// Slots probed from the hash of a key.
+	private static final int PROBES = 8;
+
+	private final int size;
+	private final int mask;
+	private final AtomicReferenceArray<Candidate> slots;
+
+	// Lowest estimate of the table once it is full, 0 until then.
+	private volatile long floor;
+
+	/**
+	* Constructor for HeavyHitters.
+	* @param size: number of keys reported by top.
+	*/
+	public HeavyHitters(int size) {
+
+		if (size < 1 || size > 1 << 16) {
+			throw new IllegalArgumentException("size must be in [1, 65536].");
+		}
+		this.size = size;
+		int capacity = Integer.highestOneBit(Math.max(2 * size, PROBES) - 1) << 1;
+		this.mask = capacity - 1;
+		this.slots = new AtomicReferenceArray<>(capacity);
+	}
+
+	/**
+	* A key of the table and its highest estimate seen.
+	*/
+	public static final class Candidate {
+
+		private static final AtomicLongFieldUpdater<Candidate> ESTIMATE =
+				AtomicLongFieldUpdater.newUpdater(Candidate.class, "estimate");
+
+		private final long key;
+		private final String label;
+		private final int errorCode;
+		private volatile long estimate;
+
+		private Candidate(long key, String label, int errorCode, long estimate) {
+			this.key = key;
+			this.label = label;
+			this.errorCode = errorCode;
+			this.estimate = estimate;
+		}
+
+		/**
+		* getter for the key, the value or the hash of the input.
+		*/
+		public long getKey() {
+			return key;
+		}
+
+		/**
+		* getter for the input the key was created from, null for values.
+		*/
+		public String getLabel() {
+			return label;
+		}
+
+		/**
+		* getter for the error code of a rejected input.
+		*/
+		public int getErrorCode() {
+			return errorCode;
+		}
+
+		/**
+		* getter for the estimated count.
+		*/
+		public long getEstimate() {
+			return estimate;
+		}
+	}
+
+	/**
+	* offer proposes key with its current estimate.
+	* @param key: value, or hash of the input.
+	* @param hash: hash of the key, spreads the keys over the table.
+	* @param input: input of the key, copied into the label when the key enters the table; null for values.
+	* @param inputLength: number of chars of input kept in the label.
+	* @param errorCode: error code of the input.
+	* @param estimate: estimate of the count of key.
+	*/
+	public void offer(long key, long hash, CharSequence input, int inputLength, int errorCode, long estimate) {
+
+		if (estimate <= floor) {
+			return;
+		}
+		int start = (int) (hash >>> 40);
+		int victim = -1;
+		Candidate victimCandidate = null;
+		for (int probe = 0; probe < PROBES; probe++) {
+			int index = (start + probe) & mask;
+			Candidate candidate = slots.get(index);
+			if (candidate == null) {
+				if (slots.compareAndSet(index, null, new Candidate(key, labelOf(input, inputLength), errorCode, estimate))) {
+					return;
+				}
+				candidate = slots.get(index);
+			}
+			if (candidate.key == key) {
+				raise(candidate, estimate);
+				return;
+			}
+			if (victimCandidate == null || candidate.estimate < victimCandidate.estimate) {
+				victim = index;
+				victimCandidate = candidate;
+			}
+		}
+		if (estimate > victimCandidate.estimate && slots.compareAndSet(victim, victimCandidate,
+				new Candidate(key, labelOf(input, inputLength), errorCode, estimate))) {
+			updateFloor();
+		}
+	}
+
+	/**
+	* top returns the candidates of the highest estimates, at most size, highest first.
+	* A key which entered two slots at the same time is listed once.
+	*/
+	public List<Candidate> top() {
+
+		List<Candidate> candidates = new ArrayList<>(slots.length());
+		for (int i = 0; i < slots.length(); i++) {
+			Candidate candidate = slots.get(i);
+			if (candidate != null) {
+				candidates.add(candidate);
+			}
+		}
+		candidates.sort(Comparator.comparingLong(Candidate::getEstimate).reversed());
+		List<Candidate> top = new ArrayList<>(size);
+		Set<Long> keys = new HashSet<>();
+		for (Candidate candidate : candidates) {
+			if (top.size() == size) {
+				break;
+			}
+			if (keys.add(candidate.key)) {
+				top.add(candidate);
+			}
+		}
+		return top;
+	}
+
+	private static void raise(Candidate candidate, long estimate) {
+
+		long current = candidate.estimate;
+		while (estimate > current && !Candidate.ESTIMATE.compareAndSet(candidate, current, estimate)) {
+			current = candidate.estimate;
+		}
+	}
+
+	// Recomputed after a replacement, when the table is known to be full around the victim.
+	private void updateFloor() {
+
+		long lowest = Long.MAX_VALUE;
+		for (int i = 0; i < slots.length(); i++) {
+			Candidate candidate = slots.get(i);
+			if (candidate == null) {
+				return;
+			}
+			lowest = Math.min(lowest, candidate.estimate);
+		}
+		floor = lowest;
+	}
+
+	private static String labelOf(CharSequence input, int inputLength) {
+		return input == null ? null : input.subSequence(0, inputLength).toString();
+	}
+}
@@ -0,0 +1,362 @@
+package com.springboot.romannumeral.telemetry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.springboot.romannumeral.core.RomanNumeralConverter;
+import com.springboot.romannumeral.core.ValidationResult;
+import com.springboot.romannumeral.telemetry.HeavyHitters.Candidate;
+
+/**
+* QueryTelemetry summarizes which values are queried and which inputs are
+* rejected, in bounded memory, for sizing caches and spotting abusive clients
+* without a metric tag per value:
+* 	1. a CountMinSketch and HeavyHitters of the valid values (top values),
+* 	2. a CountMinSketch and HeavyHitters of the rejected inputs, each with its
+* 	   error code (top rejected inputs). Inputs are counted by their first 32
+* 	   characters,
+* 	3. a histogram of the valid values in buckets of bucket-width over [1,3999],
+* 	   and a count of the values above 3999.
+* Recording is lock free and does not allocate, except when a key enters a top
+* list. The summary covers the queries since startup, except the warm-up
+* requests of WarmUpRunner, and is exposed read-only by QueryTelemetryEndpoint
+* at '/actuator/queries'.
+* It is enabled by default and disabled with romannumeral.telemetry.enabled=false.
+* @author  Yan Zhou
+* @version 1.0
+* @since   2021-02-15
+*/
+@Component
+@ConditionalOnProperty(name = "romannumeral.telemetry.enabled", havingValue = "true", matchIfMissing = true)
+public class QueryTelemetry {
+
+	// Characters of a rejected input which are counted and reported.
+	static final int MAX_INPUT_LENGTH = 32;
+
+	private final int top;
+	private final int sketchWidth;
+	private final int sketchDepth;
+	private final int bucketWidth;
+
+	// Replaced as a whole by reset, so recording never waits for it.
+	private volatile Summary summary;
+
+	/**
+	* Constructor for QueryTelemetry.
+	* @param top: number of values and of rejected inputs reported.
+	* @param sketchWidth: counters per row of the sketches.
+	* @param sketchDepth: rows of the sketches.
+	* @param bucketWidth: width of the histogram buckets.
+	*/
+	public QueryTelemetry(@Value("${romannumeral.telemetry.top:20}") int top,
+			@Value("${romannumeral.telemetry.sketch-width:2048}") int sketchWidth,
+			@Value("${romannumeral.telemetry.sketch-depth:4}") int sketchDepth,
+			@Value("${romannumeral.telemetry.bucket-width:100}") int bucketWidth) {
+
+		if (bucketWidth < 1) {
+			throw new IllegalArgumentException("bucket-width must be positive.");
+		}
+		this.top = top;
+		this.sketchWidth = sketchWidth;
+		this.sketchDepth = sketchDepth;
+		this.bucketWidth = bucketWidth;
+		this.summary = new Summary();
+	}
+
+	// Sketches, top lists and histogram since the last reset.
+	private final class Summary {
+
+		private final long start = System.currentTimeMillis();
+		private final LongAdder values = new LongAdder();
+		private final LongAdder rejected = new LongAdder();
+		private final CountMinSketch valueSketch = new CountMinSketch(sketchWidth, sketchDepth);
+		private final CountMinSketch rejectedSketch = new CountMinSketch(sketchWidth, sketchDepth);
+		private final HeavyHitters topValues = new HeavyHitters(top);
+		private final HeavyHitters topRejected = new HeavyHitters(top);
+		private final LongAdder[] buckets = new LongAdder[(RomanNumeralConverter.MAX_VALUE + bucketWidth - 1) / bucketWidth];
+		private final LongAdder above = new LongAdder();
+
+		private Summary() {
+			for (int i = 0; i < buckets.length; i++) {
+				buckets[i] = new LongAdder();
+			}
+		}
+	}
+
+	/**
+	* record records the outcome of validating query.
+	* @param query: value of request parameter query.
+	* @param result: validation result of query.
+	*/
+	public void record(CharSequence query, ValidationResult result) {
+
+		if (result.isValid()) {
+			recordValue(result.getValue());
+		} else {
+			recordRejected(query, result.getErrorCode());
+		}
+	}
+
+	/**
+	* recordValue records a valid value.
+	*/
+	public void recordValue(long value) {
+
+		Summary current = this.summary;
+		current.values.increment();
+		if (value <= RomanNumeralConverter.MAX_VALUE) {
+			current.buckets[(int) ((value - 1) / bucketWidth)].increment();
+		} else {
+			current.above.increment();
+		}
+		long hash = CountMinSketch.hash(value);
+		current.topValues.offer(value, hash, null, 0, 0, current.valueSketch.add(hash));
+	}
+
+	/**
+	* recordRejected records a rejected input.
+	* @param input: the rejected input, null when it is missing.
+	* @param errorCode: error code 1 to 3 of ErrorDetails.
+	*/
+	public void recordRejected(CharSequence input, int errorCode) {
+
+		Summary current = this.summary;
+		current.rejected.increment();
+		CharSequence key = input == null ? "" : input;
+		int length = Math.min(key.length(), MAX_INPUT_LENGTH);
+		long hash = CountMinSketch.hash(key, length);
+		current.topRejected.offer(hash, hash, key, length, errorCode, current.rejectedSketch.add(hash));
+	}
+
+	/**
+	* reset starts a new summary.
+	*/
+	public void reset() {
+		this.summary = new Summary();
+	}
+
+	/**
+	* snapshot returns the current summary.
+	*/
+	public Snapshot snapshot() {
+
+		Summary current = this.summary;
+		long values = current.values.sum();
+		long rejected = current.rejected.sum();
+
+		List<ValueCount> topValues = new ArrayList<>(top);
+		for (Candidate candidate : current.topValues.top()) {
+			topValues.add(new ValueCount(candidate.getKey(), candidate.getEstimate()));
+		}
+		List<InputCount> topRejected = new ArrayList<>(top);
+		for (Candidate candidate : current.topRejected.top()) {
+			topRejected.add(new InputCount(candidate.getLabel(), candidate.getErrorCode(), candidate.getEstimate()));
+		}
+		List<Bucket> histogram = new ArrayList<>(current.buckets.length);
+		for (int i = 0; i < current.buckets.length; i++) {
+			long from = (long) i * bucketWidth + 1;
+			histogram.add(new Bucket(from, Math.min(from + bucketWidth - 1, RomanNumeralConverter.MAX_VALUE), current.buckets[i].sum()));
+		}
+		return new Snapshot(current.start, values, rejected, current.valueSketch.errorBound(values),
+				current.rejectedSketch.errorBound(rejected), topValues, topRejected, histogram, current.above.sum());
+	}
+
+	/**
+	* Summary of the queries since start, as returned by '/actuator/queries'.
+	*/
+	public static final class Snapshot {
+
+		private final long start;
+		private final long values;
+		private final long rejected;
+		private final long valueErrorBound;
+		private final long rejectedErrorBound;
+		private final List<ValueCount> topValues;
+		private final List<InputCount> topRejected;
+		private final List<Bucket> histogram;
+		private final long above;
+
+		private Snapshot(long start, long values, long rejected, long valueErrorBound, long rejectedErrorBound,
+				List<ValueCount> topValues, List<InputCount> topRejected, List<Bucket> histogram, long above) {
+			this.start = start;
+			this.values = values;
+			this.rejected = rejected;
+			this.valueErrorBound = valueErrorBound;
+			this.rejectedErrorBound = rejectedErrorBound;
+			this.topValues = topValues;
+			this.topRejected = topRejected;
+			this.histogram = histogram;
+			this.above = above;
+		}
+
+		/**
+		* getter for the start of the summary, in milliseconds since the epoch.
+		*/
+		public long getStart() {
+			return start;
+		}
+
+		/**
+		* getter for the number of valid values.
+		*/
+		public long getValues() {
+			return values;
+		}
+
+		/**
+		* getter for the number of rejected inputs.
+		*/
+		public long getRejected() {
+			return rejected;
+		}
+
+		/**
+		* getter for the over-estimate of the value counts, not exceeded with probability 1 - e^-depth.
+		*/
+		public long getValueErrorBound() {
+			return valueErrorBound;
+		}
+
+		/**
+		* getter for the over-estimate of the rejected input counts, not exceeded with probability 1 - e^-depth.
+		*/
+		public long getRejectedErrorBound() {
+			return rejectedErrorBound;
+		}
+
+		/**
+		* getter for the most frequent values, most frequent first.
+		*/
+		public List<ValueCount> getTopValues() {
+			return topValues;
+		}
+
+		/**
+		* getter for the most frequent rejected inputs, most frequent first.
+		*/
+		public List<InputCount> getTopRejected() {
+			return topRejected;
+		}
+
+		/**
+		* getter for the histogram of the values in [1,3999].
+		*/
+		public List<Bucket> getHistogram() {
+			return histogram;
+		}
+
+		/**
+		* getter for the number of values above 3999.
+		*/
+		public long getAbove() {
+			return above;
+		}
+	}
+
+	/**
+	* Estimated count of a value.
+	*/
+	public static final class ValueCount {
+
+		private final long value;
+		private final long count;
+
+		private ValueCount(long value, long count) {
+			this.value = value;
+			this.count = count;
+		}
+
+		/**
+		* getter for value.
+		*/
+		public long getValue() {
+			return value;
+		}
+
+		/**
+		* getter for the estimated count.
+		*/
+		public long getCount() {
+			return count;
+		}
+	}
+
+	/**
+	* Estimated count of a rejected input.
+	*/
+	public static final class InputCount {
+
+		private final String input;
+		private final int errorCode;
+		private final long count;
+
+		private InputCount(String input, int errorCode, long count) {
+			this.input = input;
+			this.errorCode = errorCode;
+			this.count = count;
+		}
+
+		/**
+		* getter for the input, at most its first 32 characters.
+		*/
+		public String getInput() {
+			return input;
+		}
+
+		/**
+		* getter for the error code of ErrorDetails.
+		*/
+		public int getErrorCode() {
+			return errorCode;
+		}
+
+		/**
+		* getter for the estimated count.
+		*/
+		public long getCount() {
+			return count;
+		}
+	}
+
+	/**
+	* Number of values in [from, to].
+	*/
+	public static final class Bucket {
+
+		private final long from;
+		private final long to;
+		private final long count;
+
+		private Bucket(long from, long to, long count) {
+			this.from = from;
+			this.to = to;
+			this.count = count;
+		}
+
+		/**
+		* getter for the lowest value of the bucket.
+		*/
+		public long getFrom() {
+			return from;
+		}
+
+		/**
+		* getter for the highest value of the bucket.
+		*/
+		public long getTo() {
+			return to;
+		}
+
+		/**
+		* getter for count.
+		*/
+		public long getCount() {
+			return count;
+		}
+	}
+}
@@ -0,0 +1,37 @@
+package com.springboot.romannumeral.telemetry;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+* QueryTelemetryEndpoint exposes the summary of QueryTelemetry as read-only
+* actuator end point 'queries':
+* 	GET /actuator/queries: top values, top rejected inputs and histogram of the values.
+* The end point has no write or delete operation, so no caller of the
+* management port can clear the summary.
+* @author  Yan Zhou
+* @version 1.0
+* @since   2021-02-15
+*/
+@Component
+@Endpoint(id = "queries")
+@ConditionalOnProperty(name = "romannumeral.telemetry.enabled", havingValue = "true", matchIfMissing = true)
+public class QueryTelemetryEndpoint {
+
+	private final QueryTelemetry queryTelemetry;
+
+	/**
+	* Constructor for QueryTelemetryEndpoint.
+	* @param queryTelemetry: the summarized queries.
+	*/
+	public QueryTelemetryEndpoint(QueryTelemetry queryTelemetry) {
+		this.queryTelemetry = queryTelemetry;
+	}
+
+	@ReadOperation
+	public QueryTelemetry.Snapshot queries() {
+		return queryTelemetry.snapshot();
+	}
+}
@@ -0,0 +1,62 @@
+package com.springboot.romannumeral.warmup;
+
+import java.io.IOException;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.springboot.romannumeral.service.RomanNumeralMetrics;
+
+/**
+* WarmUpRequestFilter serves the warm-up requests of WarmUpRunner, marked by
+* the header WarmUpRunner.WARM_UP_HEADER, without recording them: the
+* RomanNumeralMetrics recording is turned off on the request thread for the
+* duration of the request. It runs first, so the concurrency limit sees the
+* request as unrecorded too. The http.server.requests meters are tagged by
+* WarmUpTagsContributor instead, as Spring Boot records every request.
+* @author  Yan Zhou
+* @version 1.0
+* @since   2021-02-15
+*/
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "romannumeral.warmup.enabled", havingValue = "true", matchIfMissing = true)
+public class WarmUpRequestFilter extends OncePerRequestFilter {
+
+	private final RomanNumeralMetrics metrics;
+
+	/**
+	* Constructor for WarmUpRequestFilter.
+	* @param metrics: metrics the warm-up requests are kept out of.
+	*/
+	public WarmUpRequestFilter(RomanNumeralMetrics metrics) {
+		this.metrics = metrics;
+	}
+
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		return !WarmUpRunner.isWarmUpRequest(request.getHeader(WarmUpRunner.WARM_UP_HEADER));
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+
+		metrics.setRecording(false);
+		try {
+			filterChain.doFilter(request, response);
+		} finally {
+			metrics.setRecording(true);
+		}
+	}
+}
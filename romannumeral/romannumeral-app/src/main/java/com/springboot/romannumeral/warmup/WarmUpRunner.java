@@ -0,0 +1,272 @@
+package com.springboot.romannumeral.warmup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import com.springboot.romannumeral.core.RomanNumeralConverter;
+import com.springboot.romannumeral.service.RomanNumeralService;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+
+/**
+* WarmUpRunner sends requests to the application itself over the loopback
+* interface once the web server is started, so the request path (Tomcat or
+* Netty, the filters, RomanNumeralController, RomanNumeralService, the encoded
+* responses and Jackson) is compiled by the JIT before the first client request
+* instead of during it.
+* The requests cycle through valid values spread over the supported range,
+* non-canonical values (written by Jackson instead of the encoded responses),
+* conditional requests answered with 304, reverse conversions and the
+* validation error codes 1 to 3.
+* The readiness state stays REFUSING_TRAFFIC, so '/actuator/health/readiness'
+* answers OUT_OF_SERVICE, until the warm-up is over: application runners run
+* before Spring Boot publishes ACCEPTING_TRAFFIC.
+* The warm-up requests are logged like any other request, but they carry the
+* header WARM_UP_HEADER with a value generated at startup, so they are kept
+* out of RomanNumeralMetrics, the query telemetry and the concurrency limit
+* (see WarmUpRequestFilter and ReactiveRomanNumeralController), and tagged
+* warmup="true" in http.server.requests (see WarmUpTagsContributor). Requests
+* received from clients during the warm-up are recorded as usual.
+* Properties:
+* 	romannumeral.warmup.enabled: runs the warm-up (default true).
+* 	romannumeral.warmup.iterations: number of requests (default 10000).
+* 	romannumeral.warmup.threads: number of concurrent connections (default 2).
+* 	romannumeral.warmup.timeout: longest duration in seconds, the warm-up stops earlier when it is reached (default 60).
+* Metrics:
+* 	romannumeral.warmup.duration: duration of the warm-up.
+* 	romannumeral.warmup.iterations: number of requests sent.
+* 	romannumeral.warmup.failures: number of requests which failed or got an unexpected status.
+* @author  Yan Zhou
+* @version 1.0
+* @since   2021-02-15
+*/
+@Component
+@ConditionalOnWebApplication
+@ConditionalOnProperty(name = "romannumeral.warmup.enabled", havingValue = "true", matchIfMissing = true)
+public class WarmUpRunner implements ApplicationRunner {
+
+	// Requests of one cycle, see request.
+	private static final int CYCLE = 16;
+
+	// Header marking the warm-up requests.
+	public static final String WARM_UP_HEADER = "X-Romannumeral-Warm-Up";
+
+	// Value of WARM_UP_HEADER, only known to this process, so clients cannot mark their requests.
+	private static final String WARM_UP_TOKEN = UUID.randomUUID().toString();
+
+	// Timeout in milliseconds of a single request.
+	private static final int REQUEST_TIMEOUT = 5000;
+
+	private Logger log = LoggerFactory.getLogger(WarmUpRunner.class);
+
+	private final ApplicationEventPublisher eventPublisher;
+	private final Environment environment;
+	private final long rangeMin;
+	private final long rangeMax;
+	private final long span;
+	private final long iterations;
+	private final int threads;
+	private final long timeoutNanos;
+
+	private final LongAdder sent = new LongAdder();
+	private final LongAdder failures = new LongAdder();
+	private volatile long startNanos;
+	private volatile long durationNanos;
+
+	/**
+	* Constructor for WarmUpRunner.
+	* @param eventPublisher: publishes the readiness state.
+	* @param environment: provides the local server port.
+	* @param romanNumeralService: provides the supported range.
+	* @param meterRegistry: registry the warm-up metrics are registered into.
+	* @param iterations: number of requests.
+	* @param threads: number of concurrent connections.
+	* @param timeoutSeconds: longest duration of the warm-up.
+	*/
+	public WarmUpRunner(ApplicationEventPublisher eventPublisher, Environment environment,
+			RomanNumeralService romanNumeralService, MeterRegistry meterRegistry,
+			@Value("${romannumeral.warmup.iterations:10000}") long iterations,
+			@Value("${romannumeral.warmup.threads:2}") int threads,
+			@Value("${romannumeral.warmup.timeout:60}") long timeoutSeconds) {
+
+		if (iterations < 0 || threads < 1 || timeoutSeconds < 1) {
+			throw new IllegalArgumentException("iterations must not be negative, threads and timeout positive.");
+		}
+		this.eventPublisher = eventPublisher;
+		this.environment = environment;
+		this.rangeMin = romanNumeralService.getRangeMin();
+		this.rangeMax = romanNumeralService.getRangeMax();
+		this.span = Math.min(this.rangeMax - this.rangeMin + 1, RomanNumeralConverter.MAX_VALUE);
+		this.iterations = iterations;
+		this.threads = threads;
+		this.timeoutNanos = TimeUnit.SECONDS.toNanos(timeoutSeconds);
+		TimeGauge.builder("romannumeral.warmup.duration", this, TimeUnit.NANOSECONDS, WarmUpRunner::getDurationNanos)
+				.description("The duration of the JIT warm-up")
+				.register(meterRegistry);
+		FunctionCounter.builder("romannumeral.warmup.iterations", sent, LongAdder::sum)
+				.description("The number of requests sent by the JIT warm-up")
+				.register(meterRegistry);
+		FunctionCounter.builder("romannumeral.warmup.failures", failures, LongAdder::sum)
+				.description("The number of warm-up requests which failed or got an unexpected status")
+				.register(meterRegistry);
+	}
+
+	@Override
+	public void run(ApplicationArguments args) throws InterruptedException {
+
+		AvailabilityChangeEvent.publish(eventPublisher, this, ReadinessState.REFUSING_TRAFFIC);
+		String port = environment.getProperty("local.server.port");
+		if (port == null || iterations == 0) {
+			return;
+		}
+		String baseUrl = "http://localhost:" + port;
+		log.info("JIT warm-up starts: {} requests on {} connections.", iterations, threads);
+
+		long start = System.nanoTime();
+		startNanos = start;
+		long deadline = start + timeoutNanos;
+		AtomicLong next = new AtomicLong();
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			List<Callable<Void>> workers = new ArrayList<>(threads);
+			for (int i = 0; i < threads; i++) {
+				workers.add(() -> {
+					long iteration;
+					while ((iteration = next.getAndIncrement()) < iterations && System.nanoTime() - deadline < 0) {
+						request(baseUrl, iteration);
+						sent.increment();
+					}
+					return null;
+				});
+			}
+			executor.invokeAll(workers);
+		} finally {
+			executor.shutdownNow();
+			durationNanos = System.nanoTime() - start;
+		}
+
+		log.info("JIT warm-up ends: {} requests in {} ms, {} failed.", sent.sum(),
+				TimeUnit.NANOSECONDS.toMillis(durationNanos), failures.sum());
+	}
+
+	/**
+	* isWarmUpRequest returns true when header, the value of WARM_UP_HEADER of a
+	* request, marks a warm-up request sent by this process.
+	* @param header: value of WARM_UP_HEADER, null when there is none.
+	*/
+	public static boolean isWarmUpRequest(String header) {
+		return WARM_UP_TOKEN.equals(header);
+	}
+
+	/**
+	* getter for the duration of the warm-up in nanoseconds, so far while it runs.
+	*/
+	public long getDurationNanos() {
+
+		if (durationNanos != 0 || startNanos == 0) {
+			return durationNanos;
+		}
+		return System.nanoTime() - startNanos;
+	}
+
+	// Sends request number iteration of the cycle and counts it as failed when its status is not the expected one.
+	private void request(String baseUrl, long iteration) {
+
+		long value = rangeMin + (iteration * 7919) % span;
+		String path;
+		String etag = null;
+		int expected;
+		switch ((int) (iteration % CYCLE)) {
+			case 0:
+				path = "/romannumeral?query=";
+				expected = 400;
+				break;
+			case 1:
+				path = "/romannumeral?query=ab123";
+				expected = 422;
+				break;
+			case 2:
+				path = "/romannumeral?query=0";
+				expected = 422;
+				break;
+			case 3:
+				int reverse = (int) (1 + iteration % RomanNumeralConverter.MAX_VALUE);
+				path = "/romannumeral/reverse?query=" + RomanNumeralConverter.toRoman(reverse);
+				expected = reverse >= rangeMin && reverse <= rangeMax ? 200 : 422;
+				break;
+			case 4:
+				path = "/romannumeral/reverse?query=IIII";
+				expected = 422;
+				break;
+			case 5:
+				path = "/romannumeral?query=" + value;
+				etag = "\"" + value + "\"";
+				expected = 304;
+				break;
+			case 6:
+				path = "/romannumeral?query=0" + value;
+				expected = 200;
+				break;
+			default:
+				path = "/romannumeral?query=" + value;
+				expected = 200;
+		}
+		try {
+			int status = send(baseUrl + path, etag);
+			if (status != expected) {
+				failures.increment();
+			}
+		} catch (IOException ex) {
+			failures.increment();
+		}
+	}
+
+	// Sends a GET request and reads the whole response, so the connection is kept alive for the next request.
+	private static int send(String url, String etag) throws IOException {
+
+		HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+		connection.setConnectTimeout(REQUEST_TIMEOUT);
+		connection.setReadTimeout(REQUEST_TIMEOUT);
+		connection.setRequestProperty(WARM_UP_HEADER, WARM_UP_TOKEN);
+		if (etag != null) {
+			connection.setRequestProperty("If-None-Match", etag);
+		}
+		int status = connection.getResponseCode();
+		InputStream body = status >= 400 ? connection.getErrorStream() : connection.getInputStream();
+		if (body != null) {
+			try (InputStream in = body) {
+				byte[] buffer = new byte[1024];
+				while (in.read(buffer) >= 0) {
+					// Drain the body.
+				}
+			}
+		}
+		return status;
+	}
+}
@@ -0,0 +1,52 @@
+package com.springboot.romannumeral.warmup;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.boot.actuate.metrics.web.reactive.server.WebFluxTagsContributor;
+import org.springframework.boot.actuate.metrics.web.servlet.WebMvcTagsContributor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+
+/**
+* WarmUpTagsContributor adds tag 'warmup' to the http.server.requests meters
+* of both web stacks: "true" for the warm-up requests of WarmUpRunner, "false"
+* for every other request. Spring Boot records every request, so the warm-up
+* requests are kept apart by this tag instead of being left out, e.g.
+* http_server_requests_seconds_count{warmup="false"}.
+* @author  Yan Zhou
+* @version 1.0
+* @since   2021-02-15
+*/
+@Component
+@ConditionalOnWebApplication
+@ConditionalOnProperty(name = "romannumeral.warmup.enabled", havingValue = "true", matchIfMissing = true)
+public class WarmUpTagsContributor implements WebMvcTagsContributor, WebFluxTagsContributor {
+
+	private static final Tags WARM_UP = Tags.of("warmup", "true");
+	private static final Tags NOT_WARM_UP = Tags.of("warmup", "false");
+
+	@Override
+	public Iterable<Tag> getTags(HttpServletRequest request, HttpServletResponse response, Object handler, Throwable exception) {
+		return tags(request.getHeader(WarmUpRunner.WARM_UP_HEADER));
+	}
+
+	@Override
+	public Iterable<Tag> getLongRequestTags(HttpServletRequest request, Object handler) {
+		return tags(request.getHeader(WarmUpRunner.WARM_UP_HEADER));
+	}
+
+	@Override
+	public Iterable<Tag> httpRequestTags(ServerWebExchange exchange, Throwable exception) {
+		return tags(exchange.getRequest().getHeaders().getFirst(WarmUpRunner.WARM_UP_HEADER));
+	}
+
+	private static Tags tags(String header) {
+		return WarmUpRunner.isWarmUpRequest(header) ? WARM_UP : NOT_WARM_UP;
+	}
+}
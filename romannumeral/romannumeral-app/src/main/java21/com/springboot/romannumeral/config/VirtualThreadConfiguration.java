@@ -0,0 +1,41 @@
+package com.springboot.romannumeral.config;
+
+import java.util.concurrent.Executors;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+/**
+* VirtualThreadConfiguration runs every request on its own virtual thread
+* instead of the fixed Tomcat worker pool. The asynchronous part of the
+* streaming end points runs on virtual threads as well.
+* This class is only compiled by maven profile virtual-threads (JDK 21) and
+* is enabled with romannumeral.virtual-threads.enabled=true.
+* @author  Yan Zhou
+* @version 1.0
+* @since   2021-02-15
+*/
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "romannumeral.virtual-threads.enabled", havingValue = "true")
+public class VirtualThreadConfiguration {
+
+	@Bean
+	public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+		return protocolHandler -> protocolHandler.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+	}
+
+	@Bean(name = TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+	public AsyncTaskExecutor applicationTaskExecutor() {
+		return new TaskExecutorAdapter(Executors.newVirtualThreadPerTaskExecutor());
+	}
+
+	@Bean
+	public VirtualThreadMetrics virtualThreadMetrics() {
+		return new VirtualThreadMetrics();
+	}
+}
@@ -0,0 +1,56 @@
+package com.springboot.romannumeral.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.DisposableBean;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jdk.jfr.consumer.RecordingStream;
+
+/**
+* VirtualThreadMetrics exports the JFR virtual thread events of the JVM, so
+* pinning of carrier threads (a virtual thread blocking inside a synchronized
+* block or a native frame) shows up on the Prometheus end point.
+* Metrics:
+* 	jvm.threads.virtual.pinned: duration of pinned virtual threads, above the JFR threshold.
+* 	jvm.threads.virtual.submit.failed: number of virtual threads which could not be started or unparked.
+* Platform thread counts are exported by the jvm.threads metrics of Spring Boot.
+* @author  Yan Zhou
+* @version 1.0
+* @since   2021-02-15
+*/
+public class VirtualThreadMetrics implements MeterBinder, DisposableBean {
+
+	// Pinned events shorter than this are not recorded by JFR.
+	private static final Duration PINNED_THRESHOLD = Duration.ofMillis(1);
+
+	private RecordingStream recordingStream;
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+
+		Timer pinned = Timer.builder("jvm.threads.virtual.pinned")
+				.description("Duration of virtual threads pinned to their carrier thread")
+				.register(registry);
+		Counter submitFailed = Counter.builder("jvm.threads.virtual.submit.failed")
+				.description("The number of virtual threads which could not be started or unparked")
+				.register(registry);
+
+		recordingStream = new RecordingStream();
+		recordingStream.enable("jdk.VirtualThreadPinned").withThreshold(PINNED_THRESHOLD);
+		recordingStream.enable("jdk.VirtualThreadSubmitFailed");
+		recordingStream.onEvent("jdk.VirtualThreadPinned", event -> pinned.record(event.getDuration()));
+		recordingStream.onEvent("jdk.VirtualThreadSubmitFailed", event -> submitFailed.increment());
+		recordingStream.startAsync();
+	}
+
+	@Override
+	public void destroy() {
+		if (recordingStream != null) {
+			recordingStream.close();
+		}
+	}
+}
@@ -0,0 +1,108 @@
+#!/bin/sh
+# Builds the startup-optimized distribution of the application from the Spring Boot jar:
+#   <out>/runtime   jlink runtime holding only the modules the application uses, with its own CDS archive
+#   <out>/app/lib   application classes and dependencies as plain jars on the class path (CDS only
+#                   archives classes loaded from jars by the built-in class loaders, not from nested jars)
+#   <out>/app/app.jsa  dynamic AppCDS archive recorded by a training run
+#   <out>/app/jvm.args JVM options to start with: <out>/runtime/bin/java @<out>/app/jvm.args <main class>
+# The class path is recorded in the archive, so the distribution must be run from the directory it was
+# built in (the Docker image builds it at its final location).
+#
+# usage: build-startup.sh <spring boot jar> <out directory>
+# environment:
+#   JAVA_HOME        JDK 13 or later, used for jlink and the training run (default: the JDK of java on PATH)
+#   JLINK_MODULES    modules of the runtime
+#   TRAINING_PORT    port of the training run (default 8089)
+set -e
+
+JAR=$1
+OUT=$2
+if [ -z "$JAR" ] || [ -z "$OUT" ]; then
+	echo "usage: $0 <spring boot jar> <out directory>" >&2
+	exit 1
+fi
+
+if [ -z "$JAVA_HOME" ]; then
+	JAVA_HOME=$(dirname "$(dirname "$(readlink -f "$(command -v java)")")")
+fi
+JLINK_MODULES=${JLINK_MODULES:-java.base,java.desktop,java.instrument,java.logging,java.management,java.naming,java.security.jgss,java.sql,java.xml,jdk.management,jdk.unsupported}
+TRAINING_PORT=${TRAINING_PORT:-8089}
+MAIN_CLASS=com.springboot.romannumeral.RomanNumeralApplication
+
+mkdir -p "$OUT"
+OUT=$(cd "$OUT" && pwd)
+rm -rf "$OUT/runtime" "$OUT/app" "$OUT/exploded"
+
+echo "Extracting $JAR"
+mkdir -p "$OUT/exploded" "$OUT/app/lib"
+(cd "$OUT/exploded" && "$JAVA_HOME/bin/jar" xf "$(cd "$(dirname "$JAR")" && pwd)/$(basename "$JAR")")
+"$JAVA_HOME/bin/jar" cf "$OUT/app/lib/romannumeral.jar" -C "$OUT/exploded/BOOT-INF/classes" .
+CLASSPATH_ENTRIES="$OUT/app/lib/romannumeral.jar"
+# Keep the order of the Spring Boot class path index, so resources resolve as with java -jar.
+if [ -f "$OUT/exploded/BOOT-INF/classpath.idx" ]; then
+	LIBS=$(sed -n 's/^- "BOOT-INF\/lib\/\(.*\)"$/\1/p' "$OUT/exploded/BOOT-INF/classpath.idx")
+else
+	LIBS=$(ls "$OUT/exploded/BOOT-INF/lib")
+fi
+for LIB in $LIBS; do
+	mv "$OUT/exploded/BOOT-INF/lib/$LIB" "$OUT/app/lib/$LIB"
+	CLASSPATH_ENTRIES="$CLASSPATH_ENTRIES:$OUT/app/lib/$LIB"
+done
+rm -rf "$OUT/exploded"
+
+echo "Linking runtime with modules $JLINK_MODULES"
+"$JAVA_HOME/bin/jlink" --add-modules "$JLINK_MODULES" --strip-debug --no-header-files --no-man-pages \
+	--compress=2 --output "$OUT/runtime"
+# Base CDS archive of the runtime's own classes; jlink does not create one.
+"$OUT/runtime/bin/java" -Xshare:dump > /dev/null
+
+cat > "$OUT/app/jvm.args" <<EOF
+-cp $CLASSPATH_ENTRIES
+-XX:SharedArchiveFile=$OUT/app/app.jsa
+EOF
+
+echo "Training run on port $TRAINING_PORT"
+TRAINING_DIR=$(mktemp -d)
+(cd "$TRAINING_DIR" && exec "$OUT/runtime/bin/java" -XX:ArchiveClassesAtExit="$OUT/app/app.jsa" -cp "$CLASSPATH_ENTRIES" \
+	$MAIN_CLASS --spring.profiles.active=startup --server.port="$TRAINING_PORT" > "$TRAINING_DIR/training.log" 2>&1) &
+PID=$!
+
+fetch() {
+	if command -v curl > /dev/null; then
+		curl -s -o /dev/null "$1"
+	else
+		wget -q -O /dev/null "$1"
+	fi
+}
+
+UP=false
+for i in $(seq 1 120); do
+	if fetch "http://localhost:$TRAINING_PORT/actuator/health"; then
+		UP=true
+		break
+	fi
+	sleep 0.5
+done
+if [ "$UP" != true ]; then
+	kill $PID 2> /dev/null || true
+	cat "$TRAINING_DIR/training.log" >&2
+	echo "The training run did not start" >&2
+	exit 1
+fi
+# Load the classes of the request paths, valid and invalid, so they are archived as well.
+for QUERY in "query=1994" "query=4000" "query=abc" "query=" "min=1&max=10"; do
+	fetch "http://localhost:$TRAINING_PORT/romannumeral?$QUERY" || true
+done
+fetch "http://localhost:$TRAINING_PORT/romannumeral/reverse?query=MCMXCIV" || true
+fetch "http://localhost:$TRAINING_PORT/actuator/prometheus" || true
+# The archive is written when the JVM exits on SIGTERM.
+kill -TERM $PID
+wait $PID || true
+rm -rf "$TRAINING_DIR"
+if [ ! -f "$OUT/app/app.jsa" ]; then
+	echo "The training run did not write the CDS archive" >&2
+	exit 1
+fi
+
+echo "Startup distribution in $OUT: $(du -sh "$OUT/runtime" | cut -f1) runtime, $(du -sh "$OUT/app/app.jsa" | cut -f1) archive"
+echo "Run with: $OUT/runtime/bin/java @$OUT/app/jvm.args $MAIN_CLASS --spring.profiles.active=startup"
@@ -0,0 +1,81 @@
+#!/bin/bash
+# Measures the time to first response and the resident memory of the application, started as the
+# current build (java -jar) and as the startup-optimized distribution built by build-startup.sh.
+# Each variant is started RUNS times; the time is taken from the launch of the JVM to the first
+# successful GET /romannumeral, and the RSS (VmRSS) and peak RSS (VmHWM) are read from /proc right
+# after that response, so the script runs on Linux only. The poll sleeps POLL_INTERVAL between
+# requests, so the first response is seen up to that late and the curl loop does not compete with
+# the starting JVM for the CPU.
+# The "current" variant keeps the default romannumeral.warmup.enabled=true: GET /romannumeral is
+# served as soon as the web server is up, so its first responses are measured while the warm-up
+# requests still run alongside them, and its RSS includes the warm-up. The "startup" variant
+# disables the warm-up (application-startup.properties).
+#
+# usage: measure-startup.sh <spring boot jar> <startup directory>
+# environment:
+#   JAVA           java of the current build (default: java on PATH)
+#   RUNS           runs per variant (default 5)
+#   MEASURE_PORT   port of the application (default 8090)
+#   POLL_INTERVAL  seconds between two requests of the poll (default 0.02)
+set -e
+
+JAR=$1
+STARTUP=$2
+if [ -z "$JAR" ] || [ -z "$STARTUP" ]; then
+	echo "usage: $0 <spring boot jar> <startup directory>" >&2
+	exit 1
+fi
+JAVA=${JAVA:-java}
+RUNS=${RUNS:-5}
+MEASURE_PORT=${MEASURE_PORT:-8090}
+POLL_INTERVAL=${POLL_INTERVAL:-0.02}
+MAIN_CLASS=com.springboot.romannumeral.RomanNumeralApplication
+URL="http://localhost:$MEASURE_PORT/romannumeral?query=1994"
+WORK_DIR=$(mktemp -d)
+trap 'rm -rf "$WORK_DIR"' EXIT
+
+# measure <name> <command...>: prints one line per run and appends "millis rss hwm" to $WORK_DIR/<name>
+measure() {
+	local name=$1
+	shift
+	for run in $(seq 1 "$RUNS"); do
+		local start=$(date +%s%N)
+		(cd "$WORK_DIR" && exec "$@" --server.port="$MEASURE_PORT" > "$WORK_DIR/$name.log" 2>&1) &
+		local pid=$!
+		local status=000
+		while [ "$status" != 200 ]; do
+			if ! kill -0 $pid 2> /dev/null; then
+				cat "$WORK_DIR/$name.log" >&2
+				echo "$name exited before its first response" >&2
+				exit 1
+			fi
+			status=$(curl -s -o /dev/null -w '%{http_code}' "$URL" || true)
+			[ "$status" = 200 ] || sleep "$POLL_INTERVAL"
+		done
+		local millis=$(( ($(date +%s%N) - start) / 1000000 ))
+		local rss=$(awk '/^VmRSS/ { print int($2 / 1024) }' /proc/$pid/status)
+		local hwm=$(awk '/^VmHWM/ { print int($2 / 1024) }' /proc/$pid/status)
+		kill -TERM $pid
+		wait $pid || true
+		echo "$millis $rss $hwm" >> "$WORK_DIR/$name"
+		printf '  %-10s run %d: first response %6d ms, RSS %4d MB, peak RSS %4d MB\n' "$name" "$run" "$millis" "$rss" "$hwm"
+	done
+}
+
+median() {
+	sort -n | awk '{ v[NR] = $1 } END { print (NR % 2) ? v[(NR + 1) / 2] : int((v[NR / 2] + v[NR / 2 + 1]) / 2) }'
+}
+
+echo "Measuring $RUNS runs per variant on port $MEASURE_PORT"
+measure current "$JAVA" -jar "$(cd "$(dirname "$JAR")" && pwd)/$(basename "$JAR")"
+measure startup "$STARTUP/runtime/bin/java" @"$STARTUP/app/jvm.args" $MAIN_CLASS --spring.profiles.active=startup
+
+echo
+printf '%-10s %22s %12s %17s\n' variant "first response (ms)" "RSS (MB)" "peak RSS (MB)"
+for name in current startup; do
+	printf '%-10s %22s %12s %17s\n' "$name" \
+		"$(cut -d' ' -f1 "$WORK_DIR/$name" | median)" \
+		"$(cut -d' ' -f2 "$WORK_DIR/$name" | median)" \
+		"$(cut -d' ' -f3 "$WORK_DIR/$name" | median)"
+done
+echo "(medians; the runtime size is $(du -sh "$STARTUP/runtime" | cut -f1), the CDS archive $(du -sh "$STARTUP/app/app.jsa" | cut -f1))"
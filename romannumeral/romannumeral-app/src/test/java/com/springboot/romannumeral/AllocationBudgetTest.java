@@ -0,0 +1,148 @@
+package com.springboot.romannumeral;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.util.Properties;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import com.springboot.romannumeral.exception.GlobalExceptionHandler;
+import com.springboot.romannumeral.exception.InputIntegerOutOfRangException;
+import com.springboot.romannumeral.exception.InvalidIntegerFormatException;
+import com.springboot.romannumeral.exception.NoInputException;
+import com.springboot.romannumeral.service.RomanNumeralService;
+
+import com.sun.management.ThreadMXBean;
+
+// The application loggers are turned off, so the budgets cover the request path and not the appenders.
+@SpringBootTest(properties = { "logging.level.com.springboot.romannumeral=off", "romannumeral.warmup.enabled=false" })
+class AllocationBudgetTest {
+
+	// Calls before measuring, so the measured calls run JIT compiled code.
+	private static final int WARMUP_CALLS = 20000;
+
+	private static final int MEASURED_CALLS = 10000;
+
+	// Rounds of MEASURED_CALLS; the least allocating round is kept, so a round which happens to
+	// refresh the shared ErrorResponses (once per second) is not counted against the budget.
+	private static final int MEASURED_ROUNDS = 5;
+
+	private static ThreadMXBean threadMXBean;
+
+	private static Properties budgets;
+
+	// Keeps the results reachable, so allocations cannot be optimized away.
+	private static Object sink;
+
+	@Autowired
+	private RomanNumeralService romanNumeralService;
+
+	@Autowired
+	private GlobalExceptionHandler globalExceptionHandler;
+
+	private final WebRequest webRequest = new ServletWebRequest(new MockHttpServletRequest("GET", "/romannumeral"));
+
+	@BeforeAll
+	public static void loadBudgets() throws IOException {
+
+		Assumptions.assumeTrue(ManagementFactory.getThreadMXBean() instanceof ThreadMXBean,
+				"Thread allocation counters need a HotSpot compatible JVM.");
+		threadMXBean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+		Assumptions.assumeTrue(threadMXBean.isThreadAllocatedMemorySupported());
+		threadMXBean.setThreadAllocatedMemoryEnabled(true);
+
+		budgets = new Properties();
+		try (InputStream in = AllocationBudgetTest.class.getResourceAsStream("allocation-budgets.properties")) {
+			budgets.load(in);
+		}
+	}
+
+	@Test
+	public void getRomanNumeralValid() {
+		assertWithinBudget("getRomanNumeral.valid", () -> romanNumeralService.getRomanNumeral("1994"));
+	}
+
+	@Test
+	public void getRomanNumeralNoInput() {
+		assertWithinBudget("getRomanNumeral.no-input", () -> romanNumeralService.getRomanNumeral("   "));
+	}
+
+	@Test
+	public void getRomanNumeralInvalidFormat() {
+		assertWithinBudget("getRomanNumeral.invalid-format", () -> romanNumeralService.getRomanNumeral("ab123"));
+	}
+
+	@Test
+	public void getRomanNumeralOutOfRange() {
+		assertWithinBudget("getRomanNumeral.out-of-range", () -> romanNumeralService.getRomanNumeral("4000"));
+	}
+
+	@Test
+	public void getIntegerValid() {
+		assertWithinBudget("getInteger.valid", () -> romanNumeralService.getInteger("MCMXCIV"));
+	}
+
+	@Test
+	public void getIntegerInvalidFormat() {
+		assertWithinBudget("getInteger.invalid-format", () -> romanNumeralService.getInteger("IIII"));
+	}
+
+	@Test
+	public void noInputHandling() {
+		NoInputException exception = new NoInputException("Input value is missing.");
+		assertWithinBudget("GlobalExceptionHandler.no-input", () -> globalExceptionHandler.noInputHandling(exception, webRequest));
+	}
+
+	@Test
+	public void invalidIntegerFormatHandling() {
+		InvalidIntegerFormatException exception = new InvalidIntegerFormatException("Input value is not an integer.");
+		assertWithinBudget("GlobalExceptionHandler.invalid-format",
+				() -> globalExceptionHandler.invalidIntegerFormatHandling(exception, webRequest));
+	}
+
+	@Test
+	public void outOfRangeHandling() {
+		InputIntegerOutOfRangException exception = new InputIntegerOutOfRangException("Input value is out of range.");
+		assertWithinBudget("GlobalExceptionHandler.out-of-range",
+				() -> globalExceptionHandler.invalidIntegerFormatHandling(exception, webRequest));
+	}
+
+	@Test
+	public void globalExceptionHandling() {
+		IllegalStateException exception = new IllegalStateException("Unexpected error.");
+		assertWithinBudget("GlobalExceptionHandler.unexpected", () -> globalExceptionHandler.globalExceptionHandling(exception, webRequest));
+	}
+
+	// Fails when call allocates more bytes on average than the budget of name.
+	private static void assertWithinBudget(String name, Supplier<?> call) {
+
+		String budget = budgets.getProperty(name);
+		Assertions.assertNotNull(budget, "No allocation budget for " + name);
+
+		for (int i = 0; i < WARMUP_CALLS; i++) {
+			sink = call.get();
+		}
+		long thread = Thread.currentThread().getId();
+		long allocated = Long.MAX_VALUE;
+		for (int round = 0; round < MEASURED_ROUNDS; round++) {
+			long before = threadMXBean.getThreadAllocatedBytes(thread);
+			for (int i = 0; i < MEASURED_CALLS; i++) {
+				sink = call.get();
+			}
+			allocated = Math.min(allocated, (threadMXBean.getThreadAllocatedBytes(thread) - before) / MEASURED_CALLS);
+		}
+
+		Assertions.assertTrue(allocated <= Long.parseLong(budget.trim()),
+				name + " allocates " + allocated + " bytes per call, its budget is " + budget.trim() + " bytes.");
+	}
+}
@@ -0,0 +1,120 @@
+package com.springboot.romannumeral;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+// The reactive context has no HttpMessageConverters bean, so the responses are checked as JSON
+// with WebTestClient instead of being read back into RomanNumeral or ErrorDetails.
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT,
+		properties = { "spring.main.web-application-type=reactive", "romannumeral.warmup.enabled=false" })
+class ReactiveRomanNumeralApplicationTest {
+
+	@Autowired
+	private WebTestClient webTestClient;
+	
+	@Test
+	public void validQueryValue() throws Exception {
+		
+		this.webTestClient.get().uri("/romannumeral?query=3999").exchange()
+				.expectStatus().isOk()
+				.expectBody()
+				.jsonPath("$.input").isEqualTo("3999")
+				.jsonPath("$.output").isEqualTo("MMMCMXCIX");
+		
+	}
+	
+	@Test
+	public void invalidLetterQueryValue() throws Exception {
+		
+		this.webTestClient.get().uri("/romannumeral?query=ab123").exchange()
+				.expectStatus().isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY)
+				.expectBody()
+				.jsonPath("$.errorCode").isEqualTo(2)
+				.jsonPath("$.details").isEqualTo("uri=/romannumeral");
+		
+	}
+	
+	@Test
+	public void invalidEmptyQueryValue() throws Exception {
+		
+		this.webTestClient.get().uri("/romannumeral?query=").exchange()
+				.expectStatus().isEqualTo(HttpStatus.BAD_REQUEST)
+				.expectBody()
+				.jsonPath("$.errorCode").isEqualTo(1);
+		
+	}
+	
+	@Test
+	public void unExpectedExceptionHappened() throws Exception {
+		
+		this.webTestClient.get().uri("/romannumeral?--2").exchange()
+				.expectStatus().isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR)
+				.expectBody()
+				.jsonPath("$.errorCode").isEqualTo(0);
+		
+	}
+
+	@Test
+	public void bulkQueryValues() throws Exception {
+		
+		String body = this.webTestClient.post().uri("/romannumeral/bulk").bodyValue("123\nab\n\n4000\n1000").exchange()
+				.expectStatus().isOk()
+				.expectHeader().contentType(MediaType.APPLICATION_NDJSON)
+				.expectBody(String.class).returnResult().getResponseBody();
+		String[] records = body.split("\n");
+		
+		Assertions.assertEquals(5, records.length);
+		Assertions.assertEquals("{\"input\":\"123\",\"output\":\"CXXIII\"}", records[0]);
+		Assertions.assertTrue(records[1].contains("\"errorCode\":2"));
+		Assertions.assertTrue(records[2].contains("\"errorCode\":1"));
+		Assertions.assertTrue(records[3].contains("\"errorCode\":3"));
+		Assertions.assertEquals("{\"input\":\"1000\",\"output\":\"M\"}", records[4]);
+		
+	}
+	
+	@Test
+	public void largeBulkQueryValues() throws Exception {
+		
+		// A body and a response of many buffers.
+		StringBuilder queries = new StringBuilder();
+		for (int i = 0; i < 20; i++) {
+			for (int n = 1; n <= 3999; n++) {
+				queries.append(n).append('\n');
+			}
+		}
+		// Read line by line, the response being larger than the in-memory limit of WebTestClient.
+		List<String> records = this.webTestClient.post().uri("/romannumeral/bulk").bodyValue(queries.toString()).exchange()
+				.expectStatus().isOk()
+				.returnResult(String.class).getResponseBody().collectList().block();
+		
+		Assertions.assertEquals(20 * 3999, records.size());
+		Assertions.assertEquals("{\"input\":\"1994\",\"output\":\"MCMXCIV\"}", records.get(3999 + 1993));
+		Assertions.assertEquals("{\"input\":\"3999\",\"output\":\"MMMCMXCIX\"}", records.get(records.size() - 1));
+		
+	}
+	
+	@Test
+	public void textQueryValues() throws Exception {
+		
+		this.webTestClient.post().uri("/romannumeral/text").contentType(MediaType.parseMediaType("text/markdown;charset=UTF-8"))
+				.bodyValue("# Chapter 12\n\n© 2021, pages 10-12.").exchange()
+				.expectStatus().isOk()
+				.expectHeader().contentType("text/markdown;charset=UTF-8")
+				.expectBody(String.class).isEqualTo("# Chapter XII\n\n© MMXXI, pages X-XII.");
+		
+		this.webTestClient.post().uri("/romannumeral/text?reverse=true&singleLetters=true").contentType(MediaType.TEXT_PLAIN)
+				.bodyValue("Volume V, part II").exchange()
+				.expectStatus().isOk()
+				.expectBody(String.class).isEqualTo("Volume 5, part 2");
+		
+	}
+
+}
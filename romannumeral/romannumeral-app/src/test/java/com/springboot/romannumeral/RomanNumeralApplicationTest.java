@@ -0,0 +1,370 @@
+package com.springboot.romannumeral;
+
+import java.util.Collections;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.springboot.romannumeral.exception.ErrorDetails;
+import com.springboot.romannumeral.model.RomanNumeral;
+import com.springboot.romannumeral.service.RomanNumeralMetrics;
+
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT, properties = "romannumeral.warmup.iterations=160")
+class RomanNumeralApplicationTest {
+
+	@LocalServerPort
+	private int port;
+	
+	@Autowired
+	private TestRestTemplate restTemplate;
+	
+	@Autowired
+	private RomanNumeralMetrics romanNumeralMetrics;
+	
+	@Autowired
+	private ObjectMapper objectMapper;
+	
+	@Test
+	public void contextLoads() {
+	}
+	
+	@Test
+	public void validLargeQueryValue() throws Exception {
+		
+		ResponseEntity<RomanNumeral> responseEntity = this.restTemplate.getForEntity("http://localhost:" + port + "/romannumeral?query=3999", RomanNumeral.class);
+		RomanNumeral expectedResult = new RomanNumeral("3999","MMMCMXCIX");
+		RomanNumeral actualResult = responseEntity.getBody();
+		
+		Assertions.assertEquals(expectedResult.toString(),actualResult.toString());
+		
+	}
+	
+	@Test
+	public void validSmallQueryValue() throws Exception {
+		
+		ResponseEntity<RomanNumeral> responseEntity = this.restTemplate.getForEntity("http://localhost:" + port + "/romannumeral?query=123", RomanNumeral.class);
+		RomanNumeral expectedResult = new RomanNumeral("123","CXXIII");
+		RomanNumeral actualResult = responseEntity.getBody();
+		
+		Assertions.assertEquals(expectedResult.toString(),actualResult.toString());
+		
+	}
+	
+	@Test
+	public void validMediumQueryValue() throws Exception {
+		
+		ResponseEntity<RomanNumeral> responseEntity = this.restTemplate.getForEntity("http://localhost:" + port + "/romannumeral?query=1000", RomanNumeral.class);
+
+		RomanNumeral expectedResult = new RomanNumeral("1000","M");
+		RomanNumeral actualResult = responseEntity.getBody();
+		
+		Assertions.assertEquals(expectedResult.toString(),actualResult.toString());
+		
+	}
+	
+	@Test
+	public void invalidZeroQueryValue() throws Exception {
+		
+		ResponseEntity<ErrorDetails> responseEntity = this.restTemplate.getForEntity("http://localhost:" + port + "/romannumeral?query=0", ErrorDetails.class);
+
+		ErrorDetails result = responseEntity.getBody();
+		
+		Assertions.assertNotNull(result);
+		Assertions.assertEquals(result.getErrorCode(), 3);
+		Assertions.assertEquals(responseEntity.getStatusCode(),HttpStatus.UNPROCESSABLE_ENTITY);
+		
+	}
+
+	@Test
+	public void invalidLargeQueryValue() throws Exception {
+
+		ResponseEntity<ErrorDetails> responseEntity = this.restTemplate.getForEntity("http://localhost:" + port + "/romannumeral?query=4000", ErrorDetails.class);
+
+		ErrorDetails result = responseEntity.getBody();
+		
+		Assertions.assertNotNull(result);
+		Assertions.assertEquals(result.getErrorCode(), 3);
+		Assertions.assertEquals(responseEntity.getStatusCode(),HttpStatus.UNPROCESSABLE_ENTITY);
+		
+	}
+	
+	@Test
+	public void invalidNegativeQueryValue() throws Exception {
+
+		ResponseEntity<ErrorDetails> responseEntity = this.restTemplate.getForEntity("http://localhost:" + port + "/romannumeral?query=-10", ErrorDetails.class);
+
+		ErrorDetails result = responseEntity.getBody();
+		
+		Assertions.assertNotNull(result);
+		Assertions.assertEquals(result.getErrorCode(), 3);
+		Assertions.assertEquals(responseEntity.getStatusCode(),HttpStatus.UNPROCESSABLE_ENTITY);
+		
+	}
+
+	@Test
+	public void invalidDecimalQueryValue() throws Exception {
+		
+		ResponseEntity<ErrorDetails> responseEntity = this.restTemplate.getForEntity("http://localhost:" + port + "/romannumeral?query=2.5", ErrorDetails.class);
+
+		ErrorDetails result = responseEntity.getBody();
+		
+		Assertions.assertNotNull(result);
+		Assertions.assertEquals(result.getErrorCode(), 2);
+		Assertions.assertEquals(responseEntity.getStatusCode(),HttpStatus.UNPROCESSABLE_ENTITY);
+		
+	}
+	
+	@Test
+	public void invalidLetterQueryValue() throws Exception {
+		
+		ResponseEntity<ErrorDetails> responseEntity = this.restTemplate.getForEntity("http://localhost:" + port + "/romannumeral?query=ab123", ErrorDetails.class);
+
+		ErrorDetails result = responseEntity.getBody();
+		
+		Assertions.assertNotNull(result);
+		Assertions.assertEquals(result.getErrorCode(), 2);
+		Assertions.assertEquals(responseEntity.getStatusCode(),HttpStatus.UNPROCESSABLE_ENTITY);
+		
+	}
+	
+	@Test
+	public void invalidEmptyQueryValue() throws Exception {
+		
+		ResponseEntity<ErrorDetails> responseEntity = this.restTemplate.getForEntity("http://localhost:" + port + "/romannumeral?query=", ErrorDetails.class);
+
+		ErrorDetails result = responseEntity.getBody();
+		
+		Assertions.assertNotNull(result);
+		Assertions.assertEquals(result.getErrorCode(), 1);
+		Assertions.assertEquals(responseEntity.getStatusCode(),HttpStatus.BAD_REQUEST);
+		
+	}
+	
+	@Test
+	public void invalidWhiteSpaceQueryValue() throws Exception {
+		
+		ResponseEntity<ErrorDetails> responseEntity = this.restTemplate.getForEntity("http://localhost:" + port + "/romannumeral?query=   ", ErrorDetails.class);
+
+		ErrorDetails result = responseEntity.getBody();
+		
+		Assertions.assertNotNull(result);
+		Assertions.assertEquals(result.getErrorCode(), 1);
+		Assertions.assertEquals(responseEntity.getStatusCode(),HttpStatus.BAD_REQUEST);
+		
+	}
+	
+	@Test
+	public void unExpectedExceptionHappened() throws Exception {
+		
+		ResponseEntity<ErrorDetails> responseEntity = this.restTemplate.getForEntity("http://localhost:" + port + "/romannumeral?--2", ErrorDetails.class);
+
+		ErrorDetails result = responseEntity.getBody();
+		
+		Assertions.assertNotNull(result);
+		Assertions.assertEquals(result.getErrorCode(), 0);
+		Assertions.assertEquals(responseEntity.getStatusCode(),HttpStatus.INTERNAL_SERVER_ERROR);
+		
+	}
+
+	@Test
+	public void conditionalQueryValue() throws Exception {
+		
+		ResponseEntity<RomanNumeral> responseEntity = this.restTemplate.getForEntity("http://localhost:" + port + "/romannumeral?query=1994", RomanNumeral.class);
+		String etag = responseEntity.getHeaders().getETag();
+		
+		Assertions.assertEquals("\"1994\"", etag);
+		Assertions.assertTrue(responseEntity.getHeaders().getCacheControl().contains("immutable"));
+		
+		HttpHeaders headers = new HttpHeaders();
+		headers.setIfNoneMatch(etag);
+		ResponseEntity<String> notModified = this.restTemplate.exchange("http://localhost:" + port + "/romannumeral?query=1994",
+				HttpMethod.GET, new HttpEntity<>(headers), String.class);
+		
+		Assertions.assertEquals(HttpStatus.NOT_MODIFIED, notModified.getStatusCode());
+		Assertions.assertNull(notModified.getBody());
+		
+		ResponseEntity<ErrorDetails> error = this.restTemplate.getForEntity("http://localhost:" + port + "/romannumeral?query=0", ErrorDetails.class);
+		
+		Assertions.assertEquals("no-store", error.getHeaders().getCacheControl());
+		
+	}
+
+	@Test
+	public void encodedResponsesMatchJackson() throws Exception {
+		
+		ResponseEntity<String> responseEntity = this.restTemplate.getForEntity("http://localhost:" + port + "/romannumeral?query=1994", String.class);
+		
+		Assertions.assertEquals(objectMapper.writeValueAsString(new RomanNumeral("1994", "MCMXCIV")), responseEntity.getBody());
+		Assertions.assertEquals(responseEntity.getBody().length(), responseEntity.getHeaders().getContentLength());
+		
+		ResponseEntity<String> error = this.restTemplate.getForEntity("http://localhost:" + port + "/romannumeral?query=4000", String.class);
+		ErrorDetails errorDetails = objectMapper.readValue(error.getBody(), ErrorDetails.class);
+		
+		Assertions.assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, error.getStatusCode());
+		Assertions.assertEquals(objectMapper.writeValueAsString(errorDetails), error.getBody());
+		Assertions.assertEquals(3, errorDetails.getErrorCode());
+		
+	}
+
+	@Test
+	public void errorsAreCountedPerCode() throws Exception {
+		
+		long total = romanNumeralMetrics.getTotalCount();
+		long invalidFormat = romanNumeralMetrics.getErrorCount(2);
+		long outOfRange = romanNumeralMetrics.getErrorCount(3);
+		
+		this.restTemplate.getForEntity("http://localhost:" + port + "/romannumeral?query=abc", ErrorDetails.class);
+		this.restTemplate.getForEntity("http://localhost:" + port + "/romannumeral?query=0", ErrorDetails.class);
+		
+		Assertions.assertTrue(romanNumeralMetrics.getTotalCount() >= total + 2);
+		Assertions.assertTrue(romanNumeralMetrics.getErrorCount(2) >= invalidFormat + 1);
+		Assertions.assertTrue(romanNumeralMetrics.getErrorCount(3) >= outOfRange + 1);
+		
+	}
+
+	@Test
+	public void actuatorHealthIsUp() throws Exception {
+		
+		ResponseEntity<String> health = this.restTemplate.getForEntity("http://localhost:" + port + "/actuator/health", String.class);
+		
+		Assertions.assertEquals(HttpStatus.OK, health.getStatusCode());
+		
+	}
+
+	@Test
+	public void queryTelemetryEndpointIsReadOnly() throws Exception {
+		
+		ResponseEntity<String> queries = this.restTemplate.getForEntity("http://localhost:" + port + "/actuator/queries", String.class);
+		
+		Assertions.assertEquals(HttpStatus.OK, queries.getStatusCode());
+		Assertions.assertTrue(queries.getBody().contains("\"topValues\""));
+		// The end point is read-only, a DELETE is not accepted.
+		ResponseEntity<String> reset = this.restTemplate.exchange("http://localhost:" + port + "/actuator/queries", HttpMethod.DELETE,
+				null, String.class);
+		Assertions.assertFalse(reset.getStatusCode().is2xxSuccessful(), reset.getStatusCode().toString());
+		
+	}
+
+	@Test
+	public void validReverseQueryValue() throws Exception {
+		
+		ResponseEntity<RomanNumeral> responseEntity = this.restTemplate.getForEntity("http://localhost:" + port + "/romannumeral/reverse?query=MCMXCIV", RomanNumeral.class);
+		RomanNumeral expectedResult = new RomanNumeral("MCMXCIV","1994");
+		RomanNumeral actualResult = responseEntity.getBody();
+		
+		Assertions.assertEquals(expectedResult.toString(),actualResult.toString());
+		
+	}
+	
+	@Test
+	public void invalidReverseQueryValue() throws Exception {
+		
+		ResponseEntity<ErrorDetails> responseEntity = this.restTemplate.getForEntity("http://localhost:" + port + "/romannumeral/reverse?query=IIII", ErrorDetails.class);
+
+		ErrorDetails result = responseEntity.getBody();
+		
+		Assertions.assertNotNull(result);
+		Assertions.assertEquals(result.getErrorCode(), 2);
+		Assertions.assertEquals(responseEntity.getStatusCode(),HttpStatus.UNPROCESSABLE_ENTITY);
+		
+	}
+
+	@Test
+	public void bulkQueryValues() throws Exception {
+		
+		ResponseEntity<String> responseEntity = this.restTemplate.postForEntity("http://localhost:" + port + "/romannumeral/bulk", "123\nab\n\n4000\n1000", String.class);
+		String[] records = responseEntity.getBody().split("\n");
+		
+		Assertions.assertEquals(responseEntity.getStatusCode(),HttpStatus.OK);
+		Assertions.assertEquals(5, records.length);
+		Assertions.assertEquals("{\"input\":\"123\",\"output\":\"CXXIII\"}", records[0]);
+		Assertions.assertTrue(records[1].contains("\"errorCode\":2"));
+		Assertions.assertTrue(records[2].contains("\"errorCode\":1"));
+		Assertions.assertTrue(records[3].contains("\"errorCode\":3"));
+		Assertions.assertEquals("{\"input\":\"1000\",\"output\":\"M\"}", records[4]);
+		
+	}
+
+	@Test
+	public void bulkLongQueryValues() throws Exception {
+		
+		// Lines longer than the 64 validated characters: white spaces only, digits, and a digit after white spaces.
+		String blank = String.join("", Collections.nCopies(100, " "));
+		String body = blank + "\n" + String.join("", Collections.nCopies(100, "1")) + "\n" + blank + "7\r\n" + blank + "\r";
+		ResponseEntity<String> responseEntity = this.restTemplate.postForEntity("http://localhost:" + port + "/romannumeral/bulk", body, String.class);
+		String[] records = responseEntity.getBody().split("\n");
+		
+		Assertions.assertEquals(4, records.length);
+		Assertions.assertTrue(records[0].contains("\"errorCode\":1"));
+		Assertions.assertTrue(records[1].contains("\"errorCode\":2"));
+		Assertions.assertTrue(records[2].contains("\"errorCode\":2"));
+		Assertions.assertTrue(records[3].contains("\"errorCode\":1"));
+		
+	}
+
+	@Test
+	public void textQueryValues() throws Exception {
+		
+		HttpHeaders headers = new HttpHeaders();
+		headers.setContentType(MediaType.parseMediaType("text/markdown;charset=UTF-8"));
+		String text = "# Chapter 12\n\n© 2021, pages 10-12. Version 1.5 of 2,000 items; 007, a4 and 4000 stay.\n3";
+		ResponseEntity<String> responseEntity = this.restTemplate.postForEntity("http://localhost:" + port + "/romannumeral/text",
+				new HttpEntity<>(text, headers), String.class);
+		
+		Assertions.assertEquals(responseEntity.getStatusCode(),HttpStatus.OK);
+		Assertions.assertEquals("text/markdown;charset=UTF-8", responseEntity.getHeaders().getContentType().toString());
+		Assertions.assertEquals("# Chapter XII\n\n© MMXXI, pages X-XII. Version 1.5 of 2,000 items; 007, a4 and 4000 stay.\nIII", responseEntity.getBody());
+		
+		headers.setContentType(MediaType.TEXT_PLAIN);
+		responseEntity = this.restTemplate.postForEntity("http://localhost:" + port + "/romannumeral/text?reverse=true",
+				new HttpEntity<>("Part XII, MCMXCIV. IIII, mix and I.V stay.", headers), String.class);
+		
+		Assertions.assertEquals("Part 12, 1994. IIII, mix and I.V stay.", responseEntity.getBody());
+		
+		responseEntity = this.restTemplate.postForEntity("http://localhost:" + port + "/romannumeral/text?reverse=true&singleLetters=true",
+				new HttpEntity<>("Volume V, part II", headers), String.class);
+		
+		Assertions.assertEquals("Volume 5, part 2", responseEntity.getBody());
+		
+	}
+
+	@Test
+	public void rangeQueryValues() throws Exception {
+		
+		ResponseEntity<String> responseEntity = this.restTemplate.getForEntity("http://localhost:" + port + "/romannumeral?min=1&max=3999", String.class);
+		String[] records = responseEntity.getBody().split("\n");
+		
+		Assertions.assertEquals(responseEntity.getStatusCode(),HttpStatus.OK);
+		Assertions.assertEquals(3999, records.length);
+		Assertions.assertEquals("{\"input\":\"1\",\"output\":\"I\"}", records[0]);
+		Assertions.assertEquals("{\"input\":\"1994\",\"output\":\"MCMXCIV\"}", records[1993]);
+		Assertions.assertEquals("{\"input\":\"3999\",\"output\":\"MMMCMXCIX\"}", records[3998]);
+		
+	}
+	
+	@Test
+	public void invalidRangeQueryValue() throws Exception {
+		
+		ResponseEntity<ErrorDetails> responseEntity = this.restTemplate.getForEntity("http://localhost:" + port + "/romannumeral?min=100&max=10", ErrorDetails.class);
+
+		ErrorDetails result = responseEntity.getBody();
+		
+		Assertions.assertNotNull(result);
+		Assertions.assertEquals(result.getErrorCode(), 3);
+		Assertions.assertEquals(responseEntity.getStatusCode(),HttpStatus.UNPROCESSABLE_ENTITY);
+		
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,110 @@
+package com.springboot.romannumeral;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import javax.servlet.Filter;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+
+import com.springboot.romannumeral.client.ConversionResult;
+import com.springboot.romannumeral.client.RomanNumeralClient;
+import com.springboot.romannumeral.core.RomanNumeralConverter;
+
+// The concurrency limit is off, so no request of a batch is shed.
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT, properties = { "logging.level.com.springboot.romannumeral=warn",
+		"romannumeral.limit.enabled=false", "romannumeral.warmup.enabled=false" })
+class RomanNumeralClientTest {
+
+	// Remote ports of the conversion requests received, one per client connection.
+	private static final Set<Integer> remotePorts = ConcurrentHashMap.newKeySet();
+
+	@LocalServerPort
+	private int port;
+
+	@TestConfiguration
+	static class ConnectionCountConfiguration {
+
+		@Bean
+		public FilterRegistrationBean<Filter> connectionCountFilter() {
+
+			FilterRegistrationBean<Filter> registration = new FilterRegistrationBean<>((request, response, chain) -> {
+				remotePorts.add(request.getRemotePort());
+				chain.doFilter(request, response);
+			});
+			registration.addUrlPatterns("/romannumeral", "/romannumeral/*");
+			return registration;
+		}
+	}
+
+	@BeforeEach
+	public void clearConnections() {
+		remotePorts.clear();
+	}
+
+	@Test
+	public void typedResults() throws Exception {
+
+		try (RomanNumeralClient client = RomanNumeralClient.builder("localhost", port).build()) {
+
+			ConversionResult converted = client.toRoman(1994).get(10, TimeUnit.SECONDS);
+			Assertions.assertEquals(ConversionResult.Status.CONVERTED, converted.getStatus());
+			Assertions.assertEquals("1994", converted.getInput());
+			Assertions.assertEquals("MCMXCIV", converted.getOutput());
+
+			Assertions.assertEquals(ConversionResult.Status.NO_INPUT, client.toRoman(" ").get(10, TimeUnit.SECONDS).getStatus());
+			ConversionResult invalid = client.toRoman("ab123").get(10, TimeUnit.SECONDS);
+			Assertions.assertEquals(ConversionResult.Status.INVALID_FORMAT, invalid.getStatus());
+			Assertions.assertEquals(2, invalid.getStatus().getErrorCode());
+			Assertions.assertNotNull(invalid.getMessage());
+			Assertions.assertEquals(ConversionResult.Status.OUT_OF_RANGE, client.toRoman(4000).get(10, TimeUnit.SECONDS).getStatus());
+
+			Assertions.assertEquals("1994", client.toInteger("MCMXCIV").get(10, TimeUnit.SECONDS).getOutput());
+			Assertions.assertEquals(ConversionResult.Status.INVALID_FORMAT, client.toInteger("IIII").get(10, TimeUnit.SECONDS).getStatus());
+
+			// Conversions are deterministic: the second call is answered by the cache.
+			long requests = client.getRequestCount();
+			Assertions.assertSame(converted, client.toRoman(1994).get(10, TimeUnit.SECONDS));
+			Assertions.assertEquals(requests, client.getRequestCount());
+			Assertions.assertEquals(6, requests);
+			// Connections are reused; the server may close the one of the 400 answered to the empty query.
+			Assertions.assertTrue(remotePorts.size() <= 2, remotePorts.size() + " connections for " + requests + " requests.");
+		}
+
+	}
+
+	@Test
+	public void concurrentCallsAreBatched() throws Exception {
+
+		try (RomanNumeralClient client = RomanNumeralClient.builder("localhost", port).maxConnections(4)
+				.batchWindow(5, TimeUnit.MILLISECONDS).maxBatchSize(100).build()) {
+
+			List<CompletableFuture<ConversionResult>> results = new ArrayList<>();
+			for (int n = 1; n <= 1000; n++) {
+				results.add(client.toRoman(n));
+			}
+			results.add(client.toRoman("ab123"));
+			CompletableFuture.allOf(results.toArray(new CompletableFuture<?>[0])).get(30, TimeUnit.SECONDS);
+
+			for (int n = 1; n <= 1000; n++) {
+				Assertions.assertEquals(RomanNumeralConverter.toRoman(n), results.get(n - 1).get().getOutput());
+			}
+			Assertions.assertEquals(ConversionResult.Status.INVALID_FORMAT, results.get(1000).get().getStatus());
+			Assertions.assertTrue(client.getRequestCount() <= 20, client.getRequestCount() + " requests for 1001 calls.");
+			Assertions.assertTrue(remotePorts.size() <= 4, remotePorts.size() + " connections opened.");
+		}
+
+	}
+}
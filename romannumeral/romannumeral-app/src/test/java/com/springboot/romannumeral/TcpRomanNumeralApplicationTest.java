@@ -0,0 +1,46 @@
+package com.springboot.romannumeral;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+
+import com.springboot.romannumeral.tcp.TcpConversionServer;
+
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT,
+		properties = { "romannumeral.tcp.enabled=true", "romannumeral.tcp.port=0", "romannumeral.warmup.enabled=false" })
+class TcpRomanNumeralApplicationTest {
+
+	@Autowired
+	private TcpConversionServer tcpConversionServer;
+	
+	@Test
+	public void pipelinedQueryValues() throws Exception {
+		
+		try (Socket socket = new Socket("localhost", tcpConversionServer.getPort())) {
+			OutputStream out = socket.getOutputStream();
+			out.write("3999\r\n\nab123\n4000\n".getBytes(StandardCharsets.US_ASCII));
+			out.flush();
+			BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+			
+			Assertions.assertEquals("MMMCMXCIX", in.readLine());
+			Assertions.assertEquals("ERR 1", in.readLine());
+			Assertions.assertEquals("ERR 2", in.readLine());
+			Assertions.assertEquals("ERR 3", in.readLine());
+			
+			out.write("12\n".getBytes(StandardCharsets.US_ASCII));
+			out.flush();
+			
+			Assertions.assertEquals("XII", in.readLine());
+		}
+		
+	}
+
+}
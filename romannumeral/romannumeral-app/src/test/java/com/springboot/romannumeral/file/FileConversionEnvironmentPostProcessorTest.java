@@ -0,0 +1,38 @@
+package com.springboot.romannumeral.file;
+
+import java.util.Collections;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringApplication;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+import com.springboot.romannumeral.RomanNumeralApplication;
+
+class FileConversionEnvironmentPostProcessorTest {
+
+	@Test
+	public void inputFromAnyPropertySourceDisablesTheWebServer() {
+
+		StandardEnvironment environment = new StandardEnvironment();
+		environment.getPropertySources().addLast(new MapPropertySource("applicationConfig",
+				Collections.singletonMap(FileConversionRunner.INPUT_PROPERTY, "numbers.txt")));
+
+		new FileConversionEnvironmentPostProcessor().postProcessEnvironment(environment, new SpringApplication(RomanNumeralApplication.class));
+
+		Assertions.assertEquals("none", environment.getProperty("spring.main.web-application-type"));
+
+	}
+
+	@Test
+	public void webServerIsKeptWithoutInput() {
+
+		StandardEnvironment environment = new StandardEnvironment();
+
+		new FileConversionEnvironmentPostProcessor().postProcessEnvironment(environment, new SpringApplication(RomanNumeralApplication.class));
+
+		Assertions.assertNull(environment.getProperty("spring.main.web-application-type"));
+
+	}
+}
@@ -0,0 +1,55 @@
+package com.springboot.romannumeral.file;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.springboot.romannumeral.service.RomanNumeralService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class FileConverterTest {
+
+	@Test
+	public void columnIsConverted(@TempDir Path directory) throws Exception {
+
+		Path input = directory.resolve("input.csv");
+		Path output = directory.resolve("output.txt");
+		Path errors = directory.resolve("errors.csv");
+		Files.write(input, "a,1994\r\nb,\"4\"\nc,abc\nd,4000\ne\nf,3999".getBytes(StandardCharsets.US_ASCII));
+		RomanNumeralService romanNumeralService = new RomanNumeralService(new SimpleMeterRegistry());
+
+		FileConverter.Result result = new FileConverter(romanNumeralService, 2, ',', 2, 8).convert(input, output, errors);
+
+		Assertions.assertEquals(6, result.getLines());
+		Assertions.assertEquals(Arrays.asList("MCMXCIV", "IV", "", "", "", "MMMCMXCIX"), Files.readAllLines(output));
+		Assertions.assertEquals(Arrays.asList("line,errorCode,input", "3,2,\"abc\"", "4,3,\"4000\"", "5,1,\"\""), Files.readAllLines(errors));
+		Assertions.assertEquals(1, result.getErrorCount(1));
+
+	}
+
+	@Test
+	public void longFieldsAreRejected(@TempDir Path directory) throws Exception {
+
+		Path input = directory.resolve("input.csv");
+		Path output = directory.resolve("output.txt");
+		Path errors = directory.resolve("errors.csv");
+		// Fields longer than the 64 validated characters: white spaces only, and a digit after white spaces.
+		String blank = String.join("", Collections.nCopies(100, " "));
+		Files.write(input, ("a," + blank + "\nb," + blank + "7\nc,12").getBytes(StandardCharsets.US_ASCII));
+		RomanNumeralService romanNumeralService = new RomanNumeralService(new SimpleMeterRegistry());
+
+		FileConverter.Result result = new FileConverter(romanNumeralService, 2, ',', 2, 8).convert(input, output, errors);
+
+		Assertions.assertEquals(Arrays.asList("", "", "XII"), Files.readAllLines(output));
+		Assertions.assertEquals(1, result.getErrorCount(1));
+		Assertions.assertEquals(1, result.getErrorCount(2));
+
+	}
+}
@@ -0,0 +1,56 @@
+package com.springboot.romannumeral.limit;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.springboot.romannumeral.service.RomanNumeralMetrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ConcurrencyLimitFilterTest {
+
+	@Test
+	public void onlyRangeAndUnrecordedRequestsBypassTheLimit() throws Exception {
+
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		RomanNumeralMetrics metrics = new RomanNumeralMetrics(meterRegistry);
+		GradientConcurrencyLimit limit = new GradientConcurrencyLimit(1, 1, 1, 2.0, 0.2, TimeUnit.SECONDS.toNanos(1));
+		ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(limit, metrics, new ObjectMapper(), 1, meterRegistry);
+		// The only permit is taken, so every limited request is shed.
+		Assertions.assertTrue(limit.tryAcquire());
+
+		Assertions.assertEquals(200, filter(filter, "/romannumeral", "min", "1", "max", "10"));
+		Assertions.assertEquals(503, filter(filter, "/romannumeral", "query", "5", "min", "1"));
+		Assertions.assertEquals(503, filter(filter, "/romannumeral", "query", "5", "max", "10"));
+		Assertions.assertEquals(503, filter(filter, "/romannumeral/reverse", "query", "V", "min", "1", "max", "10"));
+
+		// Unrecorded requests, such as the warm-up requests, are not limited either.
+		metrics.setRecording(false);
+		try {
+			Assertions.assertEquals(200, filter(filter, "/romannumeral", "query", "5"));
+		} finally {
+			metrics.setRecording(true);
+		}
+		Assertions.assertEquals(3, metrics.getErrorCount(ConcurrencyLimitFilter.OVERLOADED));
+
+	}
+
+	// Status of a GET request on path with the parameters given as name, value pairs.
+	private static int filter(ConcurrencyLimitFilter filter, String path, String... parameters) throws Exception {
+
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+		request.setServletPath(path);
+		for (int i = 0; i < parameters.length; i += 2) {
+			request.addParameter(parameters[i], parameters[i + 1]);
+		}
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		filter.doFilter(request, response, new MockFilterChain());
+		return response.getStatus();
+	}
+}
@@ -0,0 +1,27 @@
+package com.springboot.romannumeral.limit;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import com.springboot.romannumeral.exception.ErrorResponses;
+
+class GradientConcurrencyLimitTest {
+
+	@Test
+	public void excessRequestsAreShed() throws Exception {
+
+		GradientConcurrencyLimit limit = new GradientConcurrencyLimit(2, 1, 10, 2.0, 0.2, TimeUnit.SECONDS.toNanos(1));
+
+		Assertions.assertTrue(limit.tryAcquire());
+		Assertions.assertTrue(limit.tryAcquire());
+		Assertions.assertFalse(limit.tryAcquire());
+		limit.release(TimeUnit.MILLISECONDS.toNanos(1));
+		Assertions.assertTrue(limit.tryAcquire());
+		Assertions.assertEquals(2, limit.getInflight());
+		Assertions.assertEquals(HttpStatus.SERVICE_UNAVAILABLE, ErrorResponses.statusOf(ConcurrencyLimitFilter.OVERLOADED));
+
+	}
+}
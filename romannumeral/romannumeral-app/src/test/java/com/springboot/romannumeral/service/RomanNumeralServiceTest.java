@@ -0,0 +1,43 @@
+package com.springboot.romannumeral.service;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.springboot.romannumeral.core.RomanNumeralConverter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class RomanNumeralServiceTest {
+
+	private final RomanNumeralService romanNumeralService = new RomanNumeralService(new SimpleMeterRegistry());
+
+	@Test
+	public void primitiveArraysAreConverted() throws Exception {
+
+		int[] values = { 1994, 0, 3999, 4000, 1 };
+		int[] offsets = new int[values.length + 1];
+		char[] numerals = new char[32];
+
+		Assertions.assertEquals(2, romanNumeralService.toRomanNumerals(values, offsets, numerals));
+		Assertions.assertEquals("MCMXCIV", new String(numerals, offsets[0], offsets[1] - offsets[0]));
+		Assertions.assertEquals(offsets[1], offsets[2]);
+		Assertions.assertEquals("MMMCMXCIX", new String(numerals, offsets[2], offsets[3] - offsets[2]));
+		Assertions.assertEquals(offsets[3], offsets[4]);
+		Assertions.assertEquals("I", new String(numerals, offsets[4], offsets[5] - offsets[4]));
+
+		int[] large = new int[100000];
+		Arrays.setAll(large, i -> 1 + i % RomanNumeralConverter.MAX_VALUE);
+		int[] largeOffsets = new int[large.length + 1];
+		ByteBuffer bytes = ByteBuffer.allocate(large.length * RomanNumeralConverter.MAX_LENGTH);
+
+		Assertions.assertEquals(0, romanNumeralService.toRomanNumerals(large, largeOffsets, bytes));
+		Assertions.assertEquals(largeOffsets[large.length], bytes.position());
+		Assertions.assertEquals("MMMCMXCIX", new String(bytes.array(), largeOffsets[3998], largeOffsets[3999] - largeOffsets[3998], StandardCharsets.US_ASCII));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> romanNumeralService.toRomanNumerals(large, largeOffsets, new char[10]));
+
+	}
+}
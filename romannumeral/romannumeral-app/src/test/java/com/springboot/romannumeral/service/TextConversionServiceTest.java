@@ -0,0 +1,64 @@
+package com.springboot.romannumeral.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.springboot.romannumeral.telemetry.QueryTelemetry;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class TextConversionServiceTest {
+
+	private static final String PROSE = "I was born in MCMXCIV, the year I first read Chapter IV of Part II.\n"
+			+ "I'm sure I'll read it again: it is a vivid, civil and mild story, from Volume V to Volume XX.";
+
+	private RomanNumeralService romanNumeralService;
+	private QueryTelemetry queryTelemetry;
+	private TextConversionService textConversionService;
+
+	@BeforeEach
+	public void createServices() {
+
+		romanNumeralService = new RomanNumeralService(new SimpleMeterRegistry());
+		queryTelemetry = new QueryTelemetry(5, 256, 4, 100);
+		ReflectionTestUtils.setField(romanNumeralService, "queryTelemetry", queryTelemetry);
+		textConversionService = new TextConversionService(romanNumeralService);
+	}
+
+	@Test
+	public void reverseKeepsThePronoun() throws Exception {
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		long replaced = textConversionService.convert(new ByteArrayInputStream(PROSE.getBytes(StandardCharsets.UTF_8)), out, true,
+				false);
+
+		Assertions.assertEquals("I was born in 1994, the year I first read Chapter 4 of Part 2.\n"
+				+ "I'm sure I'll read it again: it is a vivid, civil and mild story, from Volume V to Volume 20.",
+				new String(out.toByteArray(), StandardCharsets.UTF_8));
+		Assertions.assertEquals(4, replaced);
+		// The replaced numerals are recorded like the replaced integers.
+		Assertions.assertEquals(4, romanNumeralService.getMetrics().getTotalCount());
+		Assertions.assertEquals(4, queryTelemetry.snapshot().getValues());
+
+	}
+
+	@Test
+	public void reverseConvertsSingleLettersOnRequest() throws Exception {
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		long replaced = textConversionService.convert(new ByteArrayInputStream(PROSE.getBytes(StandardCharsets.UTF_8)), out, true,
+				true);
+
+		Assertions.assertEquals("1 was born in 1994, the year 1 first read Chapter 4 of Part 2.\n"
+				+ "1'm sure 1'll read it again: it is a vivid, civil and mild story, from Volume 5 to Volume 20.",
+				new String(out.toByteArray(), StandardCharsets.UTF_8));
+		Assertions.assertEquals(9, replaced);
+
+	}
+}
@@ -0,0 +1,43 @@
+package com.springboot.romannumeral.telemetry;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.springboot.romannumeral.core.QueryValidator;
+import com.springboot.romannumeral.core.RomanNumeralConverter;
+
+class QueryTelemetryTest {
+
+	@Test
+	public void heavyHittersAreReported() throws Exception {
+
+		QueryTelemetry telemetry = new QueryTelemetry(3, 256, 4, 100);
+		for (int n = 1; n <= 3999; n++) {
+			String query = Integer.toString(n);
+			telemetry.record(query, QueryValidator.validate(query, RomanNumeralConverter.MIN_VALUE, RomanNumeralConverter.MAX_VALUE));
+			if (n % 4 == 0) {
+				telemetry.recordValue(1994);
+			}
+			if (n % 10 == 0) {
+				telemetry.recordValue(7);
+				telemetry.recordRejected("abc", 2);
+			}
+		}
+		telemetry.recordRejected("4000", 3);
+		QueryTelemetry.Snapshot snapshot = telemetry.snapshot();
+
+		Assertions.assertEquals(3999 + 999 + 399, snapshot.getValues());
+		Assertions.assertEquals(400, snapshot.getRejected());
+		Assertions.assertEquals(1994, snapshot.getTopValues().get(0).getValue());
+		Assertions.assertTrue(snapshot.getTopValues().get(0).getCount() >= 1000);
+		Assertions.assertEquals(7, snapshot.getTopValues().get(1).getValue());
+		Assertions.assertEquals("abc", snapshot.getTopRejected().get(0).getInput());
+		Assertions.assertEquals(2, snapshot.getTopRejected().get(0).getErrorCode());
+		Assertions.assertEquals(40, snapshot.getHistogram().size());
+		Assertions.assertEquals(100 + 399, snapshot.getHistogram().get(0).getCount());
+
+		telemetry.reset();
+		Assertions.assertEquals(0, telemetry.snapshot().getValues());
+
+	}
+}
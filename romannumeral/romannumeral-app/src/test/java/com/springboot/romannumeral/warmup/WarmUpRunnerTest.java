@@ -0,0 +1,111 @@
+package com.springboot.romannumeral.warmup;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import com.springboot.romannumeral.service.RomanNumeralMetrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Three cycles of warm-up requests, and no conversion request sent by the tests but the last one.
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT, properties = "romannumeral.warmup.iterations=48")
+class WarmUpRunnerTest {
+
+	@LocalServerPort
+	private int port;
+
+	@Autowired
+	private TestRestTemplate restTemplate;
+
+	@Autowired
+	private RomanNumeralMetrics romanNumeralMetrics;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Autowired
+	private ReadinessRecorder readinessRecorder;
+
+	// Records every readiness state published, with the warm-up requests sent by then.
+	static class ReadinessRecorder {
+
+		private final List<String> states = new CopyOnWriteArrayList<>();
+
+		private MeterRegistry meterRegistry;
+
+		@EventListener
+		public void onReadiness(AvailabilityChangeEvent<ReadinessState> event) {
+
+			FunctionCounter sent = meterRegistry.find("romannumeral.warmup.iterations").functionCounter();
+			states.add(event.getState() + " after " + (sent == null ? 0 : (long) sent.count()));
+		}
+	}
+
+	@TestConfiguration
+	static class ReadinessRecorderConfiguration {
+
+		@Bean
+		public ReadinessRecorder readinessRecorder(MeterRegistry meterRegistry) {
+
+			ReadinessRecorder recorder = new ReadinessRecorder();
+			recorder.meterRegistry = meterRegistry;
+			return recorder;
+		}
+	}
+
+	@Test
+	public void warmUpRunsBeforeReadiness() throws Exception {
+
+		Assertions.assertEquals(48, meterRegistry.get("romannumeral.warmup.iterations").functionCounter().count());
+		Assertions.assertEquals(0, meterRegistry.get("romannumeral.warmup.failures").functionCounter().count());
+		Assertions.assertTrue(meterRegistry.get("romannumeral.warmup.duration").timeGauge().value(TimeUnit.NANOSECONDS) > 0);
+		// Refusing while the warm-up runs, accepting only once all of its requests are sent.
+		Assertions.assertEquals("[REFUSING_TRAFFIC after 0, ACCEPTING_TRAFFIC after 48]", readinessRecorder.states.toString());
+
+		ResponseEntity<String> readiness = this.restTemplate.getForEntity("http://localhost:" + port + "/actuator/health/readiness", String.class);
+
+		Assertions.assertEquals(HttpStatus.OK, readiness.getStatusCode());
+
+	}
+
+	@Test
+	public void warmUpRequestsAreNotRecorded() throws Exception {
+
+		Assertions.assertEquals(0, romanNumeralMetrics.getTotalCount());
+		for (int code = 0; code <= 4; code++) {
+			Assertions.assertEquals(0, romanNumeralMetrics.getErrorCount(code), "errors of code " + code);
+		}
+		Assertions.assertEquals(0, meterRegistry.get("romanNumeralService.stage").tag("stage", "validation").timer().count());
+		Assertions.assertTrue(meterRegistry.get("http.server.requests").tags("uri", "/romannumeral", "warmup", "true").timer().count() > 0);
+		Assertions.assertNull(meterRegistry.find("http.server.requests").tags("uri", "/romannumeral", "warmup", "false").timer());
+
+		// A client cannot mark its requests: the header value is only known to the application.
+		HttpHeaders headers = new HttpHeaders();
+		headers.set(WarmUpRunner.WARM_UP_HEADER, "true");
+		this.restTemplate.exchange("http://localhost:" + port + "/romannumeral?query=12", HttpMethod.GET, new HttpEntity<>(headers), String.class);
+
+		Assertions.assertEquals(1, romanNumeralMetrics.getTotalCount());
+		Assertions.assertEquals(1, meterRegistry.get("http.server.requests").tags("uri", "/romannumeral", "warmup", "false").timer().count());
+
+	}
+}
@@ -0,0 +1,129 @@
+package com.springboot.romannumeral.client;
+
+/**
+* ConversionResult is the typed outcome of a conversion by RomanNumeralClient:
+* either the converted value, or the error of the ErrorDetails returned by the
+* service, mapped from its error code to a Status.
+* Converted values and validation errors (NO_INPUT, INVALID_FORMAT and
+* OUT_OF_RANGE) never change for a given input, so they are cached by the
+* client; OVERLOADED and SERVER_ERROR are not.
+* @author  Yan Zhou
+* @version 1.0
+* @since   2021-02-15
+*/
+public final class ConversionResult {
+
+	/**
+	* Status of a conversion. The error codes are the ones of ErrorDetails.
+	*/
+	public enum Status {
+		CONVERTED(-1),
+		SERVER_ERROR(0),
+		NO_INPUT(1),
+		INVALID_FORMAT(2),
+		OUT_OF_RANGE(3),
+		OVERLOADED(4);
+
+		private final int errorCode;
+
+		Status(int errorCode) {
+			this.errorCode = errorCode;
+		}
+
+		public int getErrorCode() {
+			return errorCode;
+		}
+
+		/**
+		* of returns the Status of an ErrorDetails error code, SERVER_ERROR for unknown codes.
+		* @param errorCode : error code of ErrorDetails.
+		*/
+		public static Status of(int errorCode) {
+			for (Status status : values()) {
+				if (status.errorCode == errorCode && status != CONVERTED) {
+					return status;
+				}
+			}
+			return SERVER_ERROR;
+		}
+	}
+
+	private final Status status;
+	private final String input;
+	private final String output;
+	private final String message;
+
+	private ConversionResult(Status status, String input, String output, String message) {
+		this.status = status;
+		this.input = input;
+		this.output = output;
+		this.message = message;
+	}
+
+	/**
+	* converted returns the result of a successful conversion.
+	* @param input : the query sent.
+	* @param output : the Roman numeral, or the integer of a reverse conversion.
+	*/
+	public static ConversionResult converted(String input, String output) {
+		return new ConversionResult(Status.CONVERTED, input, output, null);
+	}
+
+	/**
+	* error returns the result of an ErrorDetails.
+	* @param input : the query sent.
+	* @param errorCode : error code of the ErrorDetails.
+	* @param message : message of the ErrorDetails.
+	*/
+	public static ConversionResult error(String input, int errorCode, String message) {
+		return new ConversionResult(Status.of(errorCode), input, null, message);
+	}
+
+	/**
+	* getter for status.
+	*/
+	public Status getStatus() {
+		return status;
+	}
+
+	/**
+	* isConverted returns true when the query was converted.
+	*/
+	public boolean isConverted() {
+		return status == Status.CONVERTED;
+	}
+
+	/**
+	* isCacheable returns true when the result never changes for its input.
+	*/
+	public boolean isCacheable() {
+		return status != Status.SERVER_ERROR && status != Status.OVERLOADED;
+	}
+
+	/**
+	* getter for the query sent.
+	*/
+	public String getInput() {
+		return input;
+	}
+
+	/**
+	* getter for the Roman numeral, or the integer of a reverse conversion; null for errors.
+	*/
+	public String getOutput() {
+		return output;
+	}
+
+	/**
+	* getter for the message of the ErrorDetails; null for conversions.
+	*/
+	public String getMessage() {
+		return message;
+	}
+
+	@Override
+	public String toString() {
+		return isConverted() ? "ConversionResult [input=" + input + ", output=" + output + "]"
+				: "ConversionResult [input=" + input + ", status=" + status + ", message=" + message + "]";
+	}
+}
@@ -0,0 +1,134 @@
+package com.springboot.romannumeral.client;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+
+/**
+* HttpTransport is a thin wrapper of HttpURLConnection which sends the
+* requests of RomanNumeralClient to one server. It holds no connection
+* itself: the keep-alive cache of the JVM does. Once a response has been read
+* entirely, its connection is kept by the JVM and reused by the next request
+* to the same server, so a request does not pay for a TCP handshake. The JVM
+* keeps up to http.maxConnections idle connections per server (a JVM-wide
+* system property, default 5) for the keep-alive timeout of the server,
+* 5 seconds when the server sends none. A request which fails on a reused
+* connection because the server closed it meanwhile is sent once more by
+* HttpURLConnection; the requests of RomanNumeralClient are idempotent.
+* The number of connections in use is bounded by the number of threads
+* sending requests, see RomanNumeralClient.
+* @author  Yan Zhou
+* @version 1.0
+* @since   2021-02-15
+*/
+class HttpTransport implements AutoCloseable {
+
+	private final String baseUrl;
+	private final int connectTimeout;
+	private final int readTimeout;
+
+	private volatile boolean closed;
+
+	/**
+	* Constructor for HttpTransport.
+	* @param host: host of the server.
+	* @param port: port of the server.
+	* @param connectTimeout: connect timeout in milliseconds.
+	* @param readTimeout: read timeout in milliseconds.
+	*/
+	HttpTransport(String host, int port, int connectTimeout, int readTimeout) {
+
+		this.baseUrl = "http://" + host + ":" + port;
+		this.connectTimeout = connectTimeout;
+		this.readTimeout = readTimeout;
+	}
+
+	/**
+	* Status and body of a response.
+	*/
+	static final class Response {
+
+		private final int status;
+		private final byte[] body;
+
+		private Response(int status, byte[] body) {
+			this.status = status;
+			this.body = body;
+		}
+
+		/**
+		* getter for the HTTP status.
+		*/
+		int getStatus() {
+			return status;
+		}
+
+		/**
+		* getter for the body, empty when there is none.
+		*/
+		byte[] getBody() {
+			return body;
+		}
+	}
+
+	/**
+	* send sends a request and reads its response.
+	* @param method: GET or POST.
+	* @param target: path and query string, already encoded.
+	* @param accept: media type of the Accept header.
+	* @param body: body of a POST request, null for GET.
+	*/
+	Response send(String method, String target, String accept, byte[] body) throws IOException {
+
+		if (closed) {
+			throw new IOException("The client is closed.");
+		}
+		HttpURLConnection connection = (HttpURLConnection) new URL(baseUrl + target).openConnection();
+		connection.setRequestMethod(method);
+		connection.setConnectTimeout(connectTimeout);
+		connection.setReadTimeout(readTimeout);
+		connection.setUseCaches(false);
+		connection.setRequestProperty("Accept", accept);
+		if (body != null) {
+			connection.setDoOutput(true);
+			connection.setFixedLengthStreamingMode(body.length);
+			connection.setRequestProperty("Content-Type", "text/plain; charset=UTF-8");
+			try (OutputStream out = connection.getOutputStream()) {
+				out.write(body);
+			}
+		}
+
+		int status = connection.getResponseCode();
+		InputStream in = status >= 400 ? connection.getErrorStream() : connection.getInputStream();
+		if (in == null) {
+			return new Response(status, new byte[0]);
+		}
+		// Read to the end and closed, so the connection goes back to the keep-alive cache.
+		try (InputStream responseBody = in) {
+			return new Response(status, readToEnd(responseBody));
+		}
+	}
+
+	private static byte[] readToEnd(InputStream in) throws IOException {
+
+		ByteArrayOutputStream body = new ByteArrayOutputStream();
+		byte[] buffer = new byte[8192];
+		int read;
+		while ((read = in.read(buffer)) != -1) {
+			body.write(buffer, 0, read);
+		}
+		return body.toByteArray();
+	}
+
+	/**
+	* close rejects the requests sent afterwards; the idle connections are
+	* closed by the keep-alive cache of the JVM once their timeout expires.
+	*/
+	@Override
+	public void close() {
+		closed = true;
+	}
+}
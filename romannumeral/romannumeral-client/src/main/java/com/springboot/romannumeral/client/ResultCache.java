@@ -0,0 +1,65 @@
+package com.springboot.romannumeral.client;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+* ResultCache keeps the most recently used ConversionResults of a client, up
+* to a fixed number of inputs, and drops the least recently used ones beyond.
+* Conversions are deterministic, so a cached result never gets stale.
+* A capacity of 0 disables the cache.
+* @author  Yan Zhou
+* @version 1.0
+* @since   2021-02-15
+*/
+class ResultCache {
+
+	private final int capacity;
+
+	// Access ordered, guarded by itself.
+	private final LinkedHashMap<String, ConversionResult> results;
+
+	/**
+	* Constructor for ResultCache.
+	* @param capacity: number of inputs kept.
+	*/
+	ResultCache(int capacity) {
+
+		this.capacity = capacity;
+		this.results = new LinkedHashMap<String, ConversionResult>(16, 0.75f, true) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, ConversionResult> eldest) {
+				return size() > ResultCache.this.capacity;
+			}
+		};
+	}
+
+	/**
+	* get returns the cached result of input, null when it is not cached.
+	*/
+	ConversionResult get(String input) {
+
+		if (capacity == 0) {
+			return null;
+		}
+		synchronized (results) {
+			return results.get(input);
+		}
+	}
+
+	/**
+	* put caches result when it never changes for its input.
+	*/
+	void put(ConversionResult result) {
+
+		if (capacity == 0 || !result.isCacheable()) {
+			return;
+		}
+		synchronized (results) {
+			results.put(result.getInput(), result);
+		}
+	}
+}
@@ -0,0 +1,444 @@
+package com.springboot.romannumeral.client;
+
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+* RomanNumeralClient is the Java client of the Roman numeral service, shared
+* by all the threads of an application:
+* 	1. requests are sent with HttpURLConnection by at most maxConnections
+* 	   sender threads, and the keep-alive cache of the JVM reuses their
+* 	   connections (see HttpTransport), so there is no TCP handshake per call,
+* 	2. the integer conversions requested during a batch window (default 2ms)
+* 	   are sent together as one '/romannumeral/bulk' request, up to
+* 	   maxBatchSize distinct queries per request; a query requested twice in
+* 	   a window is sent once. A window with a single query sends a plain
+* 	   '/romannumeral' request,
+* 	3. the results are cached, up to cacheSize inputs per direction, since a
+* 	   conversion never changes,
+* 	4. the ErrorDetails of the service are mapped by their error code to a
+* 	   ConversionResult.Status instead of being thrown.
+* Every call returns a CompletableFuture, completed on a sender thread;
+* it completes exceptionally only when the service cannot be reached or
+* does not answer with a result.
+* Reverse conversions are sent on the same connections and cached but not
+* batched, as the service has no bulk end point for them.
+* @author  Yan Zhou
+* @version 1.0
+* @since   2021-02-15
+*/
+public class RomanNumeralClient implements AutoCloseable {
+
+	private static final String JSON = "application/json";
+	private static final String NDJSON = "application/x-ndjson";
+
+	// Longest query sent in a bulk request, longer lines are rejected by BulkConversionService.
+	private static final int MAX_BULK_QUERY_LENGTH = 64;
+
+	private final HttpTransport transport;
+	private final ExecutorService senders;
+	private final ScheduledExecutorService scheduler;
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private final ResultCache romanCache;
+	private final ResultCache integerCache;
+	private final long batchWindowNanos;
+	private final int maxBatchSize;
+	private final int readTimeout;
+
+	private final LongAdder requests = new LongAdder();
+
+	// Queries of the current batch window and their futures, null between windows. Guarded by batchLock.
+	private Map<String, List<CompletableFuture<ConversionResult>>> batch;
+	private final Object batchLock = new Object();
+
+	private RomanNumeralClient(Builder builder) {
+
+		this.transport = new HttpTransport(builder.host, builder.port, builder.connectTimeout, builder.readTimeout);
+		this.senders = Executors.newFixedThreadPool(builder.maxConnections, daemonThreads("romannumeral-client-sender-"));
+		this.scheduler = Executors.newSingleThreadScheduledExecutor(daemonThreads("romannumeral-client-batch-"));
+		this.romanCache = new ResultCache(builder.cacheSize);
+		this.integerCache = new ResultCache(builder.cacheSize);
+		this.batchWindowNanos = builder.batchWindowNanos;
+		this.maxBatchSize = builder.maxBatchSize;
+		this.readTimeout = builder.readTimeout;
+	}
+
+	/**
+	* builder returns a Builder of a client of the service at host:port.
+	* @param host : host of the service.
+	* @param port : port of the service.
+	*/
+	public static Builder builder(String host, int port) {
+		return new Builder(host, port);
+	}
+
+	/**
+	* Builder of RomanNumeralClient.
+	*/
+	public static final class Builder {
+
+		private final String host;
+		private final int port;
+		private int maxConnections = 5;
+		private long batchWindowNanos = TimeUnit.MILLISECONDS.toNanos(2);
+		private int maxBatchSize = 256;
+		private int cacheSize = 4096;
+		private int connectTimeout = 5000;
+		private int readTimeout = 30000;
+
+		private Builder(String host, int port) {
+			this.host = Objects.requireNonNull(host, "host");
+			this.port = port;
+		}
+
+		/**
+		* maxConnections sets the number of sender threads, hence of connections in use (default 5). The JVM keeps
+		* up to http.maxConnections idle connections per server (system property, default 5), the others are
+		* closed after their response.
+		*/
+		public Builder maxConnections(int maxConnections) {
+			this.maxConnections = maxConnections;
+			return this;
+		}
+
+		/**
+		* batchWindow sets how long the first query of a batch waits for others (default 2ms);
+		* 0 sends every query on its own.
+		*/
+		public Builder batchWindow(long batchWindow, TimeUnit unit) {
+			this.batchWindowNanos = unit.toNanos(batchWindow);
+			return this;
+		}
+
+		/**
+		* maxBatchSize sets the number of distinct queries which sends a batch before the end of its window (default 256).
+		*/
+		public Builder maxBatchSize(int maxBatchSize) {
+			this.maxBatchSize = maxBatchSize;
+			return this;
+		}
+
+		/**
+		* cacheSize sets the number of inputs whose results are cached per direction (default 4096); 0 disables the cache.
+		*/
+		public Builder cacheSize(int cacheSize) {
+			this.cacheSize = cacheSize;
+			return this;
+		}
+
+		/**
+		* connectTimeout sets the connect timeout in milliseconds (default 5000).
+		*/
+		public Builder connectTimeout(int connectTimeout) {
+			this.connectTimeout = connectTimeout;
+			return this;
+		}
+
+		/**
+		* readTimeout sets the read timeout in milliseconds (default 30000).
+		*/
+		public Builder readTimeout(int readTimeout) {
+			this.readTimeout = readTimeout;
+			return this;
+		}
+
+		/**
+		* build creates the client.
+		* @throws IllegalArgumentException when a setting is out of range.
+		*/
+		public RomanNumeralClient build() {
+
+			if (port < 1 || port > 65535) {
+				throw new IllegalArgumentException("port must be in [1, 65535].");
+			}
+			if (maxConnections < 1 || maxBatchSize < 1) {
+				throw new IllegalArgumentException("maxConnections and maxBatchSize must be positive.");
+			}
+			if (batchWindowNanos < 0 || cacheSize < 0 || connectTimeout < 0 || readTimeout < 0) {
+				throw new IllegalArgumentException("batchWindow, cacheSize and the timeouts must not be negative.");
+			}
+			return new RomanNumeralClient(this);
+		}
+	}
+
+	/**
+	* toRoman converts an integer into its Roman numeral.
+	* @param value : the integer.
+	*/
+	public CompletableFuture<ConversionResult> toRoman(long value) {
+		return toRoman(Long.toString(value));
+	}
+
+	/**
+	* toRoman converts query, the value of request parameter query of
+	* '/romannumeral', into its Roman numeral. Invalid queries complete with
+	* the Status of their error.
+	* @param query : the query, not null.
+	*/
+	public CompletableFuture<ConversionResult> toRoman(String query) {
+
+		Objects.requireNonNull(query, "query");
+		ConversionResult cached = romanCache.get(query);
+		if (cached != null) {
+			return CompletableFuture.completedFuture(cached);
+		}
+		CompletableFuture<ConversionResult> future = new CompletableFuture<>();
+		if (batchWindowNanos == 0 || maxBatchSize == 1 || !isBatchable(query)) {
+			List<CompletableFuture<ConversionResult>> futures = new ArrayList<>(1);
+			futures.add(future);
+			execute(() -> sendSingle(query, futures), futures);
+			return future;
+		}
+
+		Map<String, List<CompletableFuture<ConversionResult>>> full = null;
+		synchronized (batchLock) {
+			if (batch == null) {
+				Map<String, List<CompletableFuture<ConversionResult>>> window = new LinkedHashMap<>();
+				batch = window;
+				try {
+					scheduler.schedule(() -> flush(window), batchWindowNanos, TimeUnit.NANOSECONDS);
+				} catch (RejectedExecutionException ex) {
+					batch = null;
+					future.completeExceptionally(new IllegalStateException("The client is closed."));
+					return future;
+				}
+			}
+			batch.computeIfAbsent(query, key -> new ArrayList<>(1)).add(future);
+			if (batch.size() >= maxBatchSize) {
+				full = batch;
+				batch = null;
+			}
+		}
+		if (full != null) {
+			dispatch(full);
+		}
+		return future;
+	}
+
+	/**
+	* toInteger converts a Roman numeral into its integer, through
+	* '/romannumeral/reverse'. Numerals which are not canonical complete with
+	* the Status of their error.
+	* @param numeral : the Roman numeral, not null.
+	*/
+	public CompletableFuture<ConversionResult> toInteger(String numeral) {
+
+		Objects.requireNonNull(numeral, "numeral");
+		ConversionResult cached = integerCache.get(numeral);
+		if (cached != null) {
+			return CompletableFuture.completedFuture(cached);
+		}
+		CompletableFuture<ConversionResult> future = new CompletableFuture<>();
+		List<CompletableFuture<ConversionResult>> futures = new ArrayList<>(1);
+		futures.add(future);
+		execute(() -> {
+			try {
+				HttpTransport.Response response = get("/romannumeral/reverse?query=" + encode(numeral));
+				ConversionResult result = parseResult(numeral, response.getBody(), response.getStatus());
+				integerCache.put(result);
+				future.complete(result);
+			} catch (IOException | RuntimeException ex) {
+				future.completeExceptionally(ex);
+			}
+		}, futures);
+		return future;
+	}
+
+	// Queries which go through a bulk request unchanged: one line, not cut.
+	private static boolean isBatchable(String query) {
+		return query.length() <= MAX_BULK_QUERY_LENGTH && query.indexOf('\n') < 0 && query.indexOf('\r') < 0;
+	}
+
+	// Sends the batch of window, unless it was sent already because it was full.
+	private void flush(Map<String, List<CompletableFuture<ConversionResult>>> window) {
+
+		synchronized (batchLock) {
+			if (batch != window) {
+				return;
+			}
+			batch = null;
+		}
+		dispatch(window);
+	}
+
+	private void dispatch(Map<String, List<CompletableFuture<ConversionResult>>> queries) {
+
+		List<CompletableFuture<ConversionResult>> futures = new ArrayList<>();
+		for (List<CompletableFuture<ConversionResult>> queryFutures : queries.values()) {
+			futures.addAll(queryFutures);
+		}
+		if (queries.size() == 1) {
+			Map.Entry<String, List<CompletableFuture<ConversionResult>>> entry = queries.entrySet().iterator().next();
+			execute(() -> sendSingle(entry.getKey(), entry.getValue()), futures);
+		} else {
+			execute(() -> sendBatch(queries), futures);
+		}
+	}
+
+	// Runs task on a sender thread, or fails futures when the client is closed.
+	private void execute(Runnable task, List<CompletableFuture<ConversionResult>> futures) {
+
+		try {
+			senders.execute(task);
+		} catch (RejectedExecutionException ex) {
+			for (CompletableFuture<ConversionResult> future : futures) {
+				future.completeExceptionally(new IllegalStateException("The client is closed."));
+			}
+		}
+	}
+
+	private void sendSingle(String query, List<CompletableFuture<ConversionResult>> futures) {
+
+		try {
+			HttpTransport.Response response = get("/romannumeral?query=" + encode(query));
+			complete(futures, parseResult(query, response.getBody(), response.getStatus()));
+		} catch (IOException | RuntimeException ex) {
+			for (CompletableFuture<ConversionResult> future : futures) {
+				future.completeExceptionally(ex);
+			}
+		}
+	}
+
+	// Sends the queries as one bulk request, the response has one record per query in the same order.
+	private void sendBatch(Map<String, List<CompletableFuture<ConversionResult>>> queries) {
+
+		try {
+			StringBuilder body = new StringBuilder(queries.size() * 8);
+			for (String query : queries.keySet()) {
+				body.append(query).append('\n');
+			}
+			requests.increment();
+			HttpTransport.Response response = transport.send("POST", "/romannumeral/bulk", NDJSON,
+					body.toString().getBytes(StandardCharsets.UTF_8));
+			if (response.getStatus() != 200) {
+				for (Map.Entry<String, List<CompletableFuture<ConversionResult>>> entry : queries.entrySet()) {
+					complete(entry.getValue(), parseResult(entry.getKey(), response.getBody(), response.getStatus()));
+				}
+				return;
+			}
+
+			String[] records = new String(response.getBody(), StandardCharsets.UTF_8).split("\n");
+			if (records.length != queries.size()) {
+				throw new IOException("The bulk response has " + records.length + " records for " + queries.size() + " queries.");
+			}
+			Iterator<Map.Entry<String, List<CompletableFuture<ConversionResult>>>> entries = queries.entrySet().iterator();
+			for (String record : records) {
+				Map.Entry<String, List<CompletableFuture<ConversionResult>>> entry = entries.next();
+				complete(entry.getValue(), parseRecord(entry.getKey(), objectMapper.readTree(record), 200));
+			}
+		} catch (IOException | RuntimeException ex) {
+			for (List<CompletableFuture<ConversionResult>> futures : queries.values()) {
+				for (CompletableFuture<ConversionResult> future : futures) {
+					future.completeExceptionally(ex);
+				}
+			}
+		}
+	}
+
+	private void complete(List<CompletableFuture<ConversionResult>> futures, ConversionResult result) {
+
+		romanCache.put(result);
+		for (CompletableFuture<ConversionResult> future : futures) {
+			future.complete(result);
+		}
+	}
+
+	private HttpTransport.Response get(String target) throws IOException {
+
+		requests.increment();
+		return transport.send("GET", target, JSON, null);
+	}
+
+	private ConversionResult parseResult(String input, byte[] body, int status) throws IOException {
+
+		if (body.length == 0) {
+			return ConversionResult.error(input, 0, "Empty response with HTTP status " + status + ".");
+		}
+		return parseRecord(input, objectMapper.readTree(body), status);
+	}
+
+	// A RomanNumeral record has an output, an ErrorDetails record has an errorCode.
+	private static ConversionResult parseRecord(String input, JsonNode record, int status) {
+
+		JsonNode output = record.get("output");
+		if (output != null && status == 200) {
+			return ConversionResult.converted(input, output.asText());
+		}
+		JsonNode errorCode = record.get("errorCode");
+		// "mesasge" is the field name of ErrorDetails, "message" the one of the Spring Boot error body.
+		JsonNode message = record.has("mesasge") ? record.get("mesasge") : record.get("message");
+		return ConversionResult.error(input, errorCode != null ? errorCode.asInt() : 0,
+				message != null ? message.asText() : "Unexpected response with HTTP status " + status + ".");
+	}
+
+	private static String encode(String value) {
+		try {
+			return URLEncoder.encode(value, StandardCharsets.UTF_8.name());
+		} catch (UnsupportedEncodingException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	private static ThreadFactory daemonThreads(String prefix) {
+
+		AtomicInteger count = new AtomicInteger();
+		return runnable -> {
+			Thread thread = new Thread(runnable, prefix + count.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		};
+	}
+
+	/**
+	* getter for the number of HTTP requests sent.
+	*/
+	public long getRequestCount() {
+		return requests.sum();
+	}
+
+	/**
+	* close sends the queries of the current batch window and waits for the
+	* requests in flight, up to the read timeout.
+	* Calls made afterwards complete exceptionally.
+	*/
+	@Override
+	public void close() {
+
+		Map<String, List<CompletableFuture<ConversionResult>>> pending;
+		synchronized (batchLock) {
+			pending = batch;
+			batch = null;
+		}
+		scheduler.shutdownNow();
+		if (pending != null) {
+			dispatch(pending);
+		}
+		senders.shutdown();
+		try {
+			senders.awaitTermination(readTimeout, TimeUnit.MILLISECONDS);
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+		transport.close();
+	}
+}
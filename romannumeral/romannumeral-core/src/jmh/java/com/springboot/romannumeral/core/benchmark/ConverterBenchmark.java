@@ -0,0 +1,118 @@
+package com.springboot.romannumeral.core.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.springboot.romannumeral.core.NumeralArrays;
+import com.springboot.romannumeral.core.RomanNumeralConverter;
+
+/**
+* ConverterBenchmark measures the integer to Roman numeral conversion of
+* RomanNumeralConverter, over all 3999 supported inputs and over a
+* skewed distribution where small numbers and recent years are the most
+* frequent queries. The original array-and-concatenation algorithm is kept
+* as a baseline. skewedInputsBulk converts the same inputs into a char[] with
+* NumeralArrays.
+* @author  Yan Zhou
+* @version 1.0
+* @since   2021-02-15
+*/
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConverterBenchmark {
+
+	// Number of inputs of the skewed distribution.
+	private static final int SKEWED_SIZE = 4096;
+
+	private int[] skewed;
+
+	private int[] offsets;
+	private char[] numerals;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		Random random = new Random(42);
+		skewed = new int[SKEWED_SIZE];
+		for (int i = 0; i < SKEWED_SIZE; i++) {
+			int bucket = random.nextInt(10);
+			if (bucket < 5) {
+				// Half of the queries are small numbers (list numbering, chapters).
+				skewed[i] = 1 + random.nextInt(20);
+			} else if (bucket < 8) {
+				// Years.
+				skewed[i] = 1900 + random.nextInt(130);
+			} else {
+				skewed[i] = 1 + random.nextInt(RomanNumeralConverter.MAX_VALUE);
+			}
+		}
+		offsets = new int[SKEWED_SIZE + 1];
+		numerals = new char[SKEWED_SIZE * RomanNumeralConverter.MAX_LENGTH];
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(RomanNumeralConverter.MAX_VALUE)
+	public void allInputs(Blackhole blackhole) {
+		for (int n = RomanNumeralConverter.MIN_VALUE; n <= RomanNumeralConverter.MAX_VALUE; n++) {
+			blackhole.consume(RomanNumeralConverter.toRoman(n));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(SKEWED_SIZE)
+	public void skewedInputs(Blackhole blackhole) {
+		for (int n : skewed) {
+			blackhole.consume(RomanNumeralConverter.toRoman(n));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(SKEWED_SIZE)
+	public char[] skewedInputsBulk() {
+		NumeralArrays.offsets(skewed, offsets, RomanNumeralConverter.MIN_VALUE, RomanNumeralConverter.MAX_VALUE, false);
+		NumeralArrays.write(skewed, offsets, RomanNumeralConverter.MIN_VALUE, RomanNumeralConverter.MAX_VALUE, numerals);
+		return numerals;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(RomanNumeralConverter.MAX_VALUE)
+	public void allInputsBaseline(Blackhole blackhole) {
+		for (int n = RomanNumeralConverter.MIN_VALUE; n <= RomanNumeralConverter.MAX_VALUE; n++) {
+			blackhole.consume(baselineIntToRoman(n));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(SKEWED_SIZE)
+	public void skewedInputsBaseline(Blackhole blackhole) {
+		for (int n : skewed) {
+			blackhole.consume(baselineIntToRoman(n));
+		}
+	}
+
+	// The original implementation of RomanNumeralService.intToRoman, before the table of RomanNumeralConverter.
+	private static String baselineIntToRoman(int n) {
+		String M[] = { "", "M", "MM", "MMM" };
+		String C[] = { "", "C", "CC", "CCC", "CD", "D", "DC", "DCC", "DCCC", "CM" };
+		String X[] = { "", "X", "XX", "XXX", "XL", "L", "LX", "LXX", "LXXX", "XC" };
+		String I[] = { "", "I", "II", "III", "IV", "V", "VI", "VII", "VIII", "IX" };
+		return M[n / 1000] + C[(n / 100) % 10] + X[(n / 10) % 10] + I[n % 10];
+	}
+}
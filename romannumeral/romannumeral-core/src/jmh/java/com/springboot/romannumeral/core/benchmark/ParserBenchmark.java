@@ -0,0 +1,61 @@
+package com.springboot.romannumeral.core.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.springboot.romannumeral.core.QueryValidator;
+import com.springboot.romannumeral.core.RomanNumeralConverter;
+import com.springboot.romannumeral.core.RomanNumeralParser;
+import com.springboot.romannumeral.core.ValidationResult;
+
+/**
+* ParserBenchmark measures the two parsers of the core module on their own:
+* QueryValidator for a valid query and for each invalid case (empty, white
+* spaces, invalid format, integer overflow and out of range), and
+* RomanNumeralParser over all 3999 canonical numerals.
+* @author  Yan Zhou
+* @version 1.0
+* @since   2021-02-15
+*/
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParserBenchmark {
+
+	// Queries of validate, kept apart so that parseAllNumerals runs once.
+	@State(Scope.Thread)
+	public static class Query {
+
+		@Param({ "1994", "", "   ", "2.5", "ab123", "99999999999", "4000", "-10" })
+		public String query;
+	}
+
+	@Benchmark
+	public ValidationResult validate(Query query) {
+		return QueryValidator.validate(query.query, RomanNumeralConverter.MIN_VALUE, RomanNumeralConverter.MAX_VALUE);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(RomanNumeralConverter.MAX_VALUE)
+	public int parseAllNumerals() {
+		int sum = 0;
+		for (int n = RomanNumeralConverter.MIN_VALUE; n <= RomanNumeralConverter.MAX_VALUE; n++) {
+			sum += RomanNumeralParser.parse(RomanNumeralConverter.toRoman(n));
+		}
+		return sum;
+	}
+}
@@ -0,0 +1,128 @@
+package com.springboot.romannumeral.core;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+* NumeralArrays writes the Roman numerals of an int[] back to back into a
+* char[] or a ByteBuffer, along with the offsets of every numeral, for callers
+* which convert large arrays. No String or boxed value is created per
+* element: the lengths are set with Arrays.parallelSetAll, turned into offsets
+* with Arrays.parallelPrefix, and the numerals are copied from the tables of
+* RomanNumeralConverter and VinculumConverter by a fork/join task which splits
+* large arrays across the common ForkJoinPool.
+* @author  Yan Zhou
+* @version 1.0
+* @since   2021-02-15
+*/
+public final class NumeralArrays {
+
+	// Values copied by one fork/join leaf task.
+	static final int LEAF_SIZE = 8192;
+
+	private NumeralArrays() {
+	}
+
+	/**
+	* offsets sets offsets[i] to the start of the numeral of values[i] and
+	* offsets[values.length] to the total length. Values out of [min, max] have
+	* an empty numeral.
+	* @param utf8 : lengths in UTF-8 bytes instead of chars.
+	*/
+	public static void offsets(int[] values, int[] offsets, long min, long max, boolean utf8) {
+
+		if (offsets.length != values.length + 1) {
+			throw new IllegalArgumentException("offsets must have values.length + 1 elements.");
+		}
+		Arrays.parallelSetAll(offsets, i -> {
+			if (i == 0) {
+				return 0;
+			}
+			int value = values[i - 1];
+			if (value < min || value > max) {
+				return 0;
+			}
+			return utf8 ? VinculumConverter.utf8Length(value) : VinculumConverter.length(value);
+		});
+		Arrays.parallelPrefix(offsets, Integer::sum);
+		if (offsets[values.length] < 0) {
+			throw new IllegalArgumentException("The numerals of values do not fit into an array.");
+		}
+	}
+
+	/**
+	* write copies the numerals into out at the offsets set by offsets.
+	* @return number of values out of [min, max].
+	*/
+	public static int write(int[] values, int[] offsets, long min, long max, char[] out) {
+		return run(new CopyTask(values, offsets, min, max, out, null, 0, 0, values.length));
+	}
+
+	/**
+	* write copies the UTF-8 numerals into out, at out.position() plus the offsets set by offsets.
+	* The position of out is not changed.
+	* @return number of values out of [min, max].
+	*/
+	public static int write(int[] values, int[] offsets, long min, long max, ByteBuffer out) {
+		return run(new CopyTask(values, offsets, min, max, null, out, out.position(), 0, values.length));
+	}
+
+	private static int run(CopyTask task) {
+		return task.hi - task.lo <= LEAF_SIZE ? task.compute() : ForkJoinPool.commonPool().invoke(task);
+	}
+
+	// Copies the numerals of values[lo, hi), returns the number of values out of range.
+	private static final class CopyTask extends RecursiveTask<Integer> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final int[] values;
+		private final int[] offsets;
+		private final long min;
+		private final long max;
+		private final char[] chars;
+		private final ByteBuffer bytes;
+		private final int base;
+		private final int lo;
+		private final int hi;
+
+		private CopyTask(int[] values, int[] offsets, long min, long max, char[] chars, ByteBuffer bytes, int base, int lo, int hi) {
+			this.values = values;
+			this.offsets = offsets;
+			this.min = min;
+			this.max = max;
+			this.chars = chars;
+			this.bytes = bytes;
+			this.base = base;
+			this.lo = lo;
+			this.hi = hi;
+		}
+
+		@Override
+		protected Integer compute() {
+
+			if (hi - lo > LEAF_SIZE) {
+				int middle = (lo + hi) >>> 1;
+				CopyTask left = new CopyTask(values, offsets, min, max, chars, bytes, base, lo, middle);
+				left.fork();
+				int right = new CopyTask(values, offsets, min, max, chars, bytes, base, middle, hi).compute();
+				return left.join() + right;
+			}
+
+			int outOfRange = 0;
+			for (int i = lo; i < hi; i++) {
+				int value = values[i];
+				if (value < min || value > max) {
+					outOfRange++;
+				} else if (chars != null) {
+					VinculumConverter.getChars(value, chars, offsets[i]);
+				} else {
+					VinculumConverter.putUtf8(value, bytes, base + offsets[i]);
+				}
+			}
+			return outOfRange;
+		}
+	}
+}
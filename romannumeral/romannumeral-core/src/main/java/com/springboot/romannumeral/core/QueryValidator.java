@@ -0,0 +1,98 @@
+package com.springboot.romannumeral.core;
+
+/**
+* QueryValidator validates request parameter query values without throwing
+* exceptions and, for integers in the classic range, without allocating.
+* Validation steps:
+* 	1. query must not be null, empty or only contain white spaces.
+* 	2. query must be a decimal integer: an optional '+' or '-' sign followed by
+* 	   ASCII digits, fitting into a long.
+* 	3. the integer must be within the supported range.
+* @author  Yan Zhou
+* @version 1.0
+* @since   2021-02-15
+*/
+public final class QueryValidator {
+
+	private QueryValidator() {
+	}
+
+	/**
+	* validate checks query against the supported range [min, max].
+	* @param query : request parameter query's value.
+	* @param min: supported min value.
+	* @param max: supported max value.
+	*/
+	public static ValidationResult validate(CharSequence query, long min, long max) {
+		if (query == null) {
+			return ValidationResult.NO_INPUT;
+		}
+		return validate(query, 0, query.length(), min, max);
+	}
+
+	/**
+	* validate checks the characters of query in [start, end) against the supported
+	* range [min, max], so callers can validate a region of a buffer without
+	* creating a substring.
+	* @param query : characters to validate.
+	* @param start : index of the first character.
+	* @param end : index after the last character.
+	* @param min: supported min value.
+	* @param max: supported max value.
+	*/
+	public static ValidationResult validate(CharSequence query, int start, int end, long min, long max) {
+
+		// Step1: check if query is empty or only contains white spaces (same rule as String.trim).
+		if (isBlank(query, start, end)) {
+			return ValidationResult.NO_INPUT;
+		}
+
+		// Step2: parse query into an integer: an optional sign followed by digits.
+		int i = start;
+		boolean negative = false;
+		char first = query.charAt(i);
+		if (first == '-' || first == '+') {
+			negative = first == '-';
+			i++;
+			if (i == end) {
+				return ValidationResult.INVALID_FORMAT;
+			}
+		}
+		// Accumulate negatively like Long.parseLong so Long.MIN_VALUE is accepted.
+		long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+		long multiplyMin = limit / 10;
+		long value = 0;
+		for (; i < end; i++) {
+			int digit = query.charAt(i) - '0';
+			if (digit < 0 || digit > 9 || value < multiplyMin) {
+				return ValidationResult.INVALID_FORMAT;
+			}
+			value *= 10;
+			if (value < limit + digit) {
+				return ValidationResult.INVALID_FORMAT;
+			}
+			value -= digit;
+		}
+		if (!negative) {
+			value = -value;
+		}
+
+		// Step3: check if the integer is within the supported range.
+		if (value < min || value > max) {
+			return ValidationResult.OUT_OF_RANGE;
+		}
+		return ValidationResult.valid(value);
+	}
+
+	/**
+	* isBlank checks if the characters in [start, end) are all white spaces.
+	*/
+	public static boolean isBlank(CharSequence query, int start, int end) {
+		for (int i = start; i < end; i++) {
+			if (query.charAt(i) > ' ') {
+				return false;
+			}
+		}
+		return true;
+	}
+}
@@ -0,0 +1,111 @@
+package com.springboot.romannumeral.core;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+* RomanNumeralConverter keeps a precomputed table of the Roman numeral
+* representation of every integer in the supported range [1,3999].
+* The table is built once when the class is loaded, so a conversion is a
+* single array lookup which returns the shared (interned) instance and
+* does not allocate.
+* The char[] and byte[] views returned by this class are shared by all
+* callers and must never be modified.
+* @author  Yan Zhou
+* @version 1.0
+* @since   2021-02-15
+*/
+public final class RomanNumeralConverter {
+
+	// Min decimal integer value kept in the table.
+	public static final int MIN_VALUE = 1;
+
+	// Max decimal integer value kept in the table.
+	public static final int MAX_VALUE = 3999;
+
+	// Length of the longest numeral in the table (3888 -> MMMDCCCLXXXVIII).
+	public static final int MAX_LENGTH = 15;
+
+	// The String arrays below are created by referencing Wikipedia's standard form.
+	// https://en.wikipedia.org/wiki/Roman_numerals
+	private static final String[] M = { "", "M", "MM", "MMM" };
+	private static final String[] C = { "", "C", "CC", "CCC", "CD", "D", "DC", "DCC", "DCCC", "CM" };
+	private static final String[] X = { "", "X", "XX", "XXX", "XL", "L", "LX", "LXX", "LXXX", "XC" };
+	private static final String[] I = { "", "I", "II", "III", "IV", "V", "VI", "VII", "VIII", "IX" };
+
+	// Numerals indexed by their integer value. Index 0 is left empty.
+	private static final String[] NUMERALS = new String[MAX_VALUE + 1];
+
+	// char[] view of NUMERALS.
+	private static final char[][] CHARS = new char[MAX_VALUE + 1][];
+
+	// US-ASCII encoded byte[] view of NUMERALS.
+	private static final byte[][] BYTES = new byte[MAX_VALUE + 1][];
+
+	static {
+		NUMERALS[0] = "";
+		CHARS[0] = new char[0];
+		BYTES[0] = new byte[0];
+		for (int n = MIN_VALUE; n <= MAX_VALUE; n++) {
+			String numeral = (M[n / 1000] + C[(n / 100) % 10] + X[(n / 10) % 10] + I[n % 10]).intern();
+			NUMERALS[n] = numeral;
+			CHARS[n] = numeral.toCharArray();
+			BYTES[n] = numeral.getBytes(StandardCharsets.US_ASCII);
+		}
+	}
+
+	private RomanNumeralConverter() {
+	}
+
+	/**
+	* isSupported checks if n has an entry in the table.
+	* @param n : decimal integer to check.
+	*/
+	public static boolean isSupported(int n) {
+		return n >= MIN_VALUE && n <= MAX_VALUE;
+	}
+
+	/**
+	* toRoman returns the shared String instance of the Roman numeral of n.
+	* @param n : decimal integer in range [1,3999].
+	* @throws IllegalArgumentException when n is out of the supported range.
+	*/
+	public static String toRoman(int n) {
+		return NUMERALS[checkedIndex(n)];
+	}
+
+	/**
+	* toChars returns the shared char[] view of the Roman numeral of n.
+	* The returned array must not be modified.
+	* @param n : decimal integer in range [1,3999].
+	* @throws IllegalArgumentException when n is out of the supported range.
+	*/
+	public static char[] toChars(int n) {
+		return CHARS[checkedIndex(n)];
+	}
+
+	/**
+	* toAsciiBytes returns the shared US-ASCII byte[] view of the Roman numeral of n.
+	* The returned array must not be modified.
+	* @param n : decimal integer in range [1,3999].
+	* @throws IllegalArgumentException when n is out of the supported range.
+	*/
+	public static byte[] toAsciiBytes(int n) {
+		return BYTES[checkedIndex(n)];
+	}
+
+	/**
+	* length returns the number of characters of the Roman numeral of n.
+	* @param n : decimal integer in range [1,3999].
+	* @throws IllegalArgumentException when n is out of the supported range.
+	*/
+	public static int length(int n) {
+		return CHARS[checkedIndex(n)].length;
+	}
+
+	private static int checkedIndex(int n) {
+		if (!isSupported(n)) {
+			throw new IllegalArgumentException("Integer " + n + " is out of supported range [1,3999].");
+		}
+		return n;
+	}
+}
@@ -0,0 +1,100 @@
+package com.springboot.romannumeral.core;
+
+/**
+* RomanNumeralParser converts a Roman numeral back into its integer value.
+* Only canonical numerals in standard form are accepted, which are exactly
+* the numerals kept in the table of RomanNumeralConverter.
+* The numeral is read in a single pass by a small state machine, one state per
+* decimal digit (thousands, hundreds, tens, ones), without regex and without
+* creating substrings.
+* @author  Yan Zhou
+* @version 1.0
+* @since   2021-02-15
+*/
+public final class RomanNumeralParser {
+
+	// Returned when the characters are not a canonical Roman numeral.
+	public static final int INVALID = -1;
+
+	// Symbols of one unit for ones, tens, hundreds and thousands.
+	private static final char[] ONES = { 'I', 'X', 'C', 'M' };
+
+	// Symbols of five units for ones, tens and hundreds.
+	private static final char[] FIVES = { 'V', 'L', 'D' };
+
+	// Decimal weight of ones, tens, hundreds and thousands.
+	private static final int[] WEIGHTS = { 1, 10, 100, 1000 };
+
+	private RomanNumeralParser() {
+	}
+
+	/**
+	* parse returns the integer value of numeral, or INVALID.
+	* @param numeral : Roman numeral to parse.
+	*/
+	public static int parse(CharSequence numeral) {
+		if (numeral == null) {
+			return INVALID;
+		}
+		return parse(numeral, 0, numeral.length());
+	}
+
+	/**
+	* parse returns the integer value of the characters in [start, end), or INVALID.
+	* @param numeral : characters to parse.
+	* @param start : index of the first character.
+	* @param end : index after the last character.
+	*/
+	public static int parse(CharSequence numeral, int start, int end) {
+
+		int i = start;
+		int total = 0;
+
+		// State thousands: M{0,3}
+		int thousands = 0;
+		while (i < end && thousands < 3 && numeral.charAt(i) == 'M') {
+			thousands++;
+			i++;
+		}
+		total += thousands * WEIGHTS[3];
+
+		// States hundreds, tens and ones: each reads one of
+		// "", one, one one, one one one, one five, five, five one.., one ten.
+		for (int decade = 2; decade >= 0 && i < end; decade--) {
+
+			char one = ONES[decade];
+			char five = FIVES[decade];
+			char ten = ONES[decade + 1];
+			char c = numeral.charAt(i);
+			int digit = 0;
+
+			if (c == one) {
+				i++;
+				if (i < end && numeral.charAt(i) == ten) {
+					digit = 9;
+					i++;
+				} else if (i < end && numeral.charAt(i) == five) {
+					digit = 4;
+					i++;
+				} else {
+					digit = 1;
+					while (i < end && digit < 3 && numeral.charAt(i) == one) {
+						digit++;
+						i++;
+					}
+				}
+			} else if (c == five) {
+				i++;
+				digit = 5;
+				while (i < end && digit < 8 && numeral.charAt(i) == one) {
+					digit++;
+					i++;
+				}
+			}
+			total += digit * WEIGHTS[decade];
+		}
+
+		// Accepting state: all characters consumed and at least one symbol read.
+		return (i == end && total > 0) ? total : INVALID;
+	}
+}
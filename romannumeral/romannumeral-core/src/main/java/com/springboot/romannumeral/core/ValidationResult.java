@@ -0,0 +1,97 @@
+package com.springboot.romannumeral.core;
+
+/**
+* ValidationResult is the outcome of validating a request parameter query.
+* Errors are returned as values instead of being thrown, and all results are
+* shared instances: one per error type and one per integer of the table kept
+* by RomanNumeralConverter, so a validation in the classic range does not
+* allocate.
+* @author  Yan Zhou
+* @version 1.0
+* @since   2021-02-15
+*/
+public final class ValidationResult {
+
+	/**
+	* Status of a validation. The error codes are the ones returned in ErrorDetails.
+	*/
+	public enum Status {
+		VALID(-1),
+		NO_INPUT(1),
+		INVALID_FORMAT(2),
+		OUT_OF_RANGE(3);
+
+		private final int errorCode;
+
+		Status(int errorCode) {
+			this.errorCode = errorCode;
+		}
+
+		public int getErrorCode() {
+			return errorCode;
+		}
+	}
+
+	public static final ValidationResult NO_INPUT = new ValidationResult(Status.NO_INPUT, 0);
+	public static final ValidationResult INVALID_FORMAT = new ValidationResult(Status.INVALID_FORMAT, 0);
+	public static final ValidationResult OUT_OF_RANGE = new ValidationResult(Status.OUT_OF_RANGE, 0);
+
+	private static final ValidationResult[] VALID = new ValidationResult[RomanNumeralConverter.MAX_VALUE + 1];
+
+	static {
+		for (int n = 0; n < VALID.length; n++) {
+			VALID[n] = new ValidationResult(Status.VALID, n);
+		}
+	}
+
+	private final Status status;
+	private final long value;
+
+	private ValidationResult(Status status, long value) {
+		this.status = status;
+		this.value = value;
+	}
+
+	/**
+	* valid returns the result of a successful validation of value.
+	* @param value : the parsed integer value.
+	*/
+	public static ValidationResult valid(long value) {
+		if (value >= 0 && value < VALID.length) {
+			return VALID[(int) value];
+		}
+		return new ValidationResult(Status.VALID, value);
+	}
+
+	/**
+	* getter for status.
+	*/
+	public Status getStatus() {
+		return status;
+	}
+
+	/**
+	* isValid returns true when the query passed all validations.
+	*/
+	public boolean isValid() {
+		return status == Status.VALID;
+	}
+
+	/**
+	* getter for the error code of ErrorDetails. Only meaningful when isValid() is false.
+	*/
+	public int getErrorCode() {
+		return status.getErrorCode();
+	}
+
+	/**
+	* getter for the parsed integer value. Only meaningful when isValid() is true.
+	*/
+	public long getValue() {
+		return value;
+	}
+
+	public String toString() {
+		return isValid() ? status + "[" + value + "]" : status.toString();
+	}
+}
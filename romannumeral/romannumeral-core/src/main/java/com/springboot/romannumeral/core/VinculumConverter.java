@@ -0,0 +1,221 @@
+package com.springboot.romannumeral.core;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+* VinculumConverter converts integers up to Long.MAX_VALUE into Roman numerals
+* using vinculum notation: a numeral with an overline is multiplied by 1000,
+* with two overlines by 1000000, and so on. The overline is written as the
+* combining character U+0305 after every letter it covers.
+* Integers in the classic range [1,3999] are returned straight from the table
+* of RomanNumeralConverter. Larger integers are split into groups of three
+* decimal digits; the highest group keeps up to 3999 (MMM...) like the classic
+* range, e.g. 4000 = I&#773;V&#773; and 3999999 = M&#773;M&#773;M&#773;C&#773;M&#773;X&#773;C&#773;I&#773;X&#773;CMXCIX.
+* The segments of each overline level are built once, on first use, so a
+* conversion only concatenates at most seven cached segments.
+* length, getChars and putUtf8 write a numeral into a caller's buffer without
+* creating a String.
+* @author  Yan Zhou
+* @version 1.0
+* @since   2021-02-15
+*/
+public final class VinculumConverter {
+
+	// Combining overline character.
+	public static final char OVERLINE = '\u0305';
+
+	// UTF-8 encoding of OVERLINE.
+	private static final byte[] OVERLINE_UTF8 = { (byte) 0xCC, (byte) 0x85 };
+
+	// Highest number of overlines needed for Long.MAX_VALUE.
+	private static final int MAX_LEVEL = 6;
+
+	// Segments of each overline level, indexed by their value in [0,3999].
+	private static final AtomicReferenceArray<String[]> SEGMENTS = new AtomicReferenceArray<>(MAX_LEVEL + 1);
+
+	// 1000 to the power of the level.
+	private static final long[] SCALES = new long[MAX_LEVEL + 1];
+
+	static {
+		SCALES[0] = 1;
+		for (int level = 1; level <= MAX_LEVEL; level++) {
+			SCALES[level] = SCALES[level - 1] * 1000;
+		}
+	}
+
+	private VinculumConverter() {
+	}
+
+	/**
+	* toRoman returns the Roman numeral of n in vinculum notation.
+	* @param n : decimal integer, at least 1.
+	* @throws IllegalArgumentException when n is lower than 1.
+	*/
+	public static String toRoman(long n) {
+
+		if (n <= RomanNumeralConverter.MAX_VALUE) {
+			return RomanNumeralConverter.toRoman((int) n);
+		}
+
+		int top = topLevel(n);
+		String first = segments(top)[(int) (n / SCALES[top])];
+		int length = first.length();
+		for (int level = top - 1; level >= 0; level--) {
+			length += segments(level)[(int) (n / SCALES[level] % 1000)].length();
+		}
+
+		StringBuilder builder = new StringBuilder(length).append(first);
+		for (int level = top - 1; level >= 0; level--) {
+			builder.append(segments(level)[(int) (n / SCALES[level] % 1000)]);
+		}
+		return builder.toString();
+	}
+
+	/**
+	* length returns the number of characters of the Roman numeral of n in vinculum notation.
+	* @param n : decimal integer, at least 1.
+	*/
+	public static int length(long n) {
+
+		if (n <= RomanNumeralConverter.MAX_VALUE) {
+			return RomanNumeralConverter.length((int) n);
+		}
+		int top = topLevel(n);
+		int length = 0;
+		for (int level = top; level >= 0; level--) {
+			int group = group(n, level, top);
+			if (group > 0) {
+				length += RomanNumeralConverter.length(group) * (level + 1);
+			}
+		}
+		return length;
+	}
+
+	/**
+	* utf8Length returns the number of UTF-8 bytes of the Roman numeral of n in vinculum
+	* notation: one per letter and two per overline.
+	* @param n : decimal integer, at least 1.
+	*/
+	public static int utf8Length(long n) {
+
+		if (n <= RomanNumeralConverter.MAX_VALUE) {
+			return RomanNumeralConverter.length((int) n);
+		}
+		int top = topLevel(n);
+		int length = 0;
+		for (int level = top; level >= 0; level--) {
+			int group = group(n, level, top);
+			if (group > 0) {
+				length += RomanNumeralConverter.length(group) * (2 * level + 1);
+			}
+		}
+		return length;
+	}
+
+	/**
+	* getChars writes the Roman numeral of n in vinculum notation into dst.
+	* @param n : decimal integer, at least 1.
+	* @param dst : destination array.
+	* @param offset : index of the first character in dst.
+	* @return the index after the last character.
+	*/
+	public static int getChars(long n, char[] dst, int offset) {
+
+		if (n <= RomanNumeralConverter.MAX_VALUE) {
+			char[] letters = RomanNumeralConverter.toChars((int) n);
+			System.arraycopy(letters, 0, dst, offset, letters.length);
+			return offset + letters.length;
+		}
+		int top = topLevel(n);
+		for (int level = top; level >= 0; level--) {
+			int group = group(n, level, top);
+			if (group > 0) {
+				for (char letter : RomanNumeralConverter.toChars(group)) {
+					dst[offset++] = letter;
+					for (int i = 0; i < level; i++) {
+						dst[offset++] = OVERLINE;
+					}
+				}
+			}
+		}
+		return offset;
+	}
+
+	/**
+	* putUtf8 writes the UTF-8 bytes of the Roman numeral of n in vinculum notation
+	* into dst with absolute puts, so the position of dst is not changed.
+	* @param n : decimal integer, at least 1.
+	* @param dst : destination buffer.
+	* @param index : index of the first byte in dst.
+	* @return the index after the last byte.
+	*/
+	public static int putUtf8(long n, ByteBuffer dst, int index) {
+
+		if (n <= RomanNumeralConverter.MAX_VALUE) {
+			for (byte letter : RomanNumeralConverter.toAsciiBytes((int) n)) {
+				dst.put(index++, letter);
+			}
+			return index;
+		}
+		int top = topLevel(n);
+		for (int level = top; level >= 0; level--) {
+			int group = group(n, level, top);
+			if (group > 0) {
+				for (byte letter : RomanNumeralConverter.toAsciiBytes(group)) {
+					dst.put(index++, letter);
+					for (int i = 0; i < level; i++) {
+						dst.put(index++, OVERLINE_UTF8[0]);
+						dst.put(index++, OVERLINE_UTF8[1]);
+					}
+				}
+			}
+		}
+		return index;
+	}
+
+	// The top level is the lowest one whose group value fits into [1,3999].
+	private static int topLevel(long n) {
+		int top = 1;
+		while (top < MAX_LEVEL && n / SCALES[top] > RomanNumeralConverter.MAX_VALUE) {
+			top++;
+		}
+		return top;
+	}
+
+	// Value of the group of n at level, the top group keeping up to 3999.
+	private static int group(long n, int level, int top) {
+		return (int) (level == top ? n / SCALES[top] : n / SCALES[level] % 1000);
+	}
+
+	/**
+	* segments returns the numerals of [0,3999] with level overlines after every letter.
+	*/
+	private static String[] segments(int level) {
+
+		String[] segments = SEGMENTS.get(level);
+		if (segments != null) {
+			return segments;
+		}
+		segments = new String[RomanNumeralConverter.MAX_VALUE + 1];
+		segments[0] = "";
+		for (int value = 1; value < segments.length; value++) {
+			if (level == 0) {
+				segments[value] = RomanNumeralConverter.toRoman(value);
+				continue;
+			}
+			char[] letters = RomanNumeralConverter.toChars(value);
+			StringBuilder builder = new StringBuilder(letters.length * (level + 1));
+			for (char letter : letters) {
+				builder.append(letter);
+				for (int i = 0; i < level; i++) {
+					builder.append(OVERLINE);
+				}
+			}
+			segments[value] = builder.toString();
+		}
+		// Segments built concurrently are equal, so any of them can be kept.
+		SEGMENTS.compareAndSet(level, null, segments);
+		return SEGMENTS.get(level);
+	}
+}
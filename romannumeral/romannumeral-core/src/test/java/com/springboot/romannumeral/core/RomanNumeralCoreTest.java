@@ -0,0 +1,98 @@
+package com.springboot.romannumeral.core;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class RomanNumeralCoreTest {
+
+	@Test
+	public void converterReturnsSharedInstances() throws Exception {
+		
+		Assertions.assertEquals("MMMDCCCLXXXVIII", RomanNumeralConverter.toRoman(3888));
+		Assertions.assertSame(RomanNumeralConverter.toRoman(1994), RomanNumeralConverter.toRoman(1994));
+		Assertions.assertSame(RomanNumeralConverter.toChars(49), RomanNumeralConverter.toChars(49));
+		Assertions.assertArrayEquals("XLIX".getBytes("US-ASCII"), RomanNumeralConverter.toAsciiBytes(49));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> RomanNumeralConverter.toRoman(4000));
+		
+	}
+
+	@Test
+	public void validatorReturnsSharedResults() throws Exception {
+		
+		Assertions.assertSame(ValidationResult.valid(12), QueryValidator.validate("+12", 1, 3999));
+		Assertions.assertSame(ValidationResult.NO_INPUT, QueryValidator.validate(" \t", 1, 3999));
+		Assertions.assertSame(ValidationResult.INVALID_FORMAT, QueryValidator.validate(" 12", 1, 3999));
+		Assertions.assertSame(ValidationResult.OUT_OF_RANGE, QueryValidator.validate("2147483648", 1, 3999));
+		Assertions.assertSame(ValidationResult.INVALID_FORMAT, QueryValidator.validate("9223372036854775808", 1, 3999));
+		Assertions.assertEquals(9223372036854775807L, QueryValidator.validate("9223372036854775807", 1, Long.MAX_VALUE).getValue());
+		Assertions.assertSame(ValidationResult.OUT_OF_RANGE, QueryValidator.validate("-2147483648", 1, 3999));
+		Assertions.assertSame(ValidationResult.valid(45), QueryValidator.validate("x45y", 1, 3, 1, 3999));
+		
+	}
+
+	@Test
+	public void vinculumConverterExtendsRange() throws Exception {
+		
+		Assertions.assertSame(RomanNumeralConverter.toRoman(3999), VinculumConverter.toRoman(3999));
+		Assertions.assertEquals("I\u0305V\u0305", VinculumConverter.toRoman(4000));
+		Assertions.assertEquals("I\u0305V\u0305I", VinculumConverter.toRoman(4001));
+		Assertions.assertEquals("M\u0305M\u0305M\u0305C\u0305M\u0305X\u0305C\u0305I\u0305X\u0305CMXCIX", VinculumConverter.toRoman(3999999));
+		Assertions.assertEquals("I\u0305\u0305V\u0305\u0305", VinculumConverter.toRoman(4000000));
+		Assertions.assertTrue(VinculumConverter.toRoman(Long.MAX_VALUE).startsWith("I\u0305\u0305\u0305\u0305\u0305\u0305X\u0305\u0305\u0305\u0305\u0305\u0305"));
+		
+		char[] chars = new char[VinculumConverter.length(3999999)];
+		
+		Assertions.assertEquals(chars.length, VinculumConverter.getChars(3999999, chars, 0));
+		Assertions.assertEquals(VinculumConverter.toRoman(3999999), new String(chars));
+		Assertions.assertEquals(VinculumConverter.toRoman(Long.MAX_VALUE).getBytes(StandardCharsets.UTF_8).length, VinculumConverter.utf8Length(Long.MAX_VALUE));
+		
+	}
+
+	@Test
+	public void parserAcceptsCanonicalNumeralsOnly() throws Exception {
+		
+		for (int n = RomanNumeralConverter.MIN_VALUE; n <= RomanNumeralConverter.MAX_VALUE; n++) {
+			Assertions.assertEquals(n, RomanNumeralParser.parse(RomanNumeralConverter.toRoman(n)));
+		}
+		Assertions.assertEquals(1994, RomanNumeralParser.parse("xMCMXCIVx", 1, 8));
+		Assertions.assertEquals(RomanNumeralParser.INVALID, RomanNumeralParser.parse(null));
+		Assertions.assertEquals(RomanNumeralParser.INVALID, RomanNumeralParser.parse(""));
+		Assertions.assertEquals(RomanNumeralParser.INVALID, RomanNumeralParser.parse("IIII"));
+		Assertions.assertEquals(RomanNumeralParser.INVALID, RomanNumeralParser.parse("MMMM"));
+		Assertions.assertEquals(RomanNumeralParser.INVALID, RomanNumeralParser.parse("IL"));
+		Assertions.assertEquals(RomanNumeralParser.INVALID, RomanNumeralParser.parse("mcmxciv"));
+		
+	}
+
+	@Test
+	public void numeralArraysMatchConverter() throws Exception {
+		
+		int[] values = new int[3 * NumeralArrays.LEAF_SIZE];
+		Arrays.setAll(values, i -> i % 5000);
+		int[] offsets = new int[values.length + 1];
+		
+		NumeralArrays.offsets(values, offsets, 1, 4999, false);
+		char[] chars = new char[offsets[values.length]];
+		
+		Assertions.assertEquals(values.length / 5000 + 1, NumeralArrays.write(values, offsets, 1, 4999, chars));
+		for (int i = 0; i < values.length; i++) {
+			String expected = values[i] == 0 ? "" : VinculumConverter.toRoman(values[i]);
+			Assertions.assertEquals(expected, new String(chars, offsets[i], offsets[i + 1] - offsets[i]));
+		}
+		
+		NumeralArrays.offsets(values, offsets, 1, 4999, true);
+		ByteBuffer bytes = ByteBuffer.allocate(offsets[values.length] + 2);
+		bytes.position(2);
+		
+		NumeralArrays.write(values, offsets, 1, 4999, bytes);
+		Assertions.assertEquals(2, bytes.position());
+		Assertions.assertEquals(VinculumConverter.toRoman(4999),
+				new String(bytes.array(), 2 + offsets[4999], offsets[5000] - offsets[4999], StandardCharsets.UTF_8));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> NumeralArrays.offsets(values, new int[1], 1, 4999, false));
+		
+	}
+}